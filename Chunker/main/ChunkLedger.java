@@ -0,0 +1,145 @@
+package main;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static main.ConsoleColorUtils.*;
+
+/**
+ * Compact binary ledger of packed chunk keys, stored next to the pregenerator state file.
+ * Each entry is one big-endian long produced by {@link MortonCode#encode(int, int)}.
+ */
+public final class ChunkLedger {
+	private static final int ENTRY_BYTES = Long.BYTES;
+
+	private final File file;
+	private final LongOpenHashSet recorded = new LongOpenHashSet();
+	private final LongArrayList session = new LongArrayList();
+
+	public ChunkLedger(File file) {
+		this.file = file;
+	}
+
+	/**
+	 * Appends a chunk to the ledger unless it was already recorded during this session.
+	 *
+	 * @param key packed chunk key
+	 * @return true if the chunk was written
+	 */
+	public synchronized boolean record(long key) {
+		if (!recorded.add(key)) return false;
+
+		File parent = file.getParentFile();
+		if (parent != null && !parent.exists() && !parent.mkdirs()) {
+			logColor(RED, "Failed to create data folder for " + file.getName());
+			return false;
+		}
+		try {
+			Files.write(file.toPath(), ByteBuffer.allocate(ENTRY_BYTES).putLong(key).array(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+			session.add(key);
+			return true;
+		} catch (IOException e) {
+			e.printStackTrace();
+			exceptionMsg("Failed to write chunk ledger " + file.getName() + ": " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Appends every chunk not yet recorded during this session in a single write.
+	 *
+	 * @param keys packed chunk keys
+	 * @return number of chunks written
+	 */
+	public synchronized int recordAll(long[] keys) {
+		ByteBuffer buffer = ByteBuffer.allocate(keys.length * ENTRY_BYTES);
+		int added = 0;
+		LongArrayList written = new LongArrayList(keys.length);
+		for (long key : keys) {
+			if (recorded.add(key)) {
+				buffer.putLong(key);
+				written.add(key);
+				added++;
+			}
+		}
+		if (added == 0) return 0;
+
+		File parent = file.getParentFile();
+		if (parent != null && !parent.exists() && !parent.mkdirs()) {
+			logColor(RED, "Failed to create data folder for " + file.getName());
+			return 0;
+		}
+		try {
+			Files.write(file.toPath(), Arrays.copyOf(buffer.array(), buffer.position()), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+			session.addAll(written);
+			return added;
+		} catch (IOException e) {
+			e.printStackTrace();
+			exceptionMsg("Failed to write chunk ledger " + file.getName() + ": " + e.getMessage());
+			return 0;
+		}
+	}
+
+	/**
+	 * Rewrites the ledger with only the chunks recorded since this instance was created, dropping entries that were read
+	 * back and handled in the meantime. Called once a run that read the ledger has written back what is still outstanding,
+	 * so a crash before then keeps every entry.
+	 */
+	public synchronized void commit() {
+		try {
+			if (session.isEmpty()) {
+				Files.deleteIfExists(file.toPath());
+				return;
+			}
+			ByteBuffer buffer = ByteBuffer.allocate(session.size() * ENTRY_BYTES);
+			for (int i = 0; i < session.size(); i++) {
+				buffer.putLong(session.getLong(i));
+			}
+			Path temp = file.toPath().resolveSibling(file.getName() + ".tmp");
+			Files.write(temp, buffer.array());
+			Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			e.printStackTrace();
+			exceptionMsg("Failed to rewrite chunk ledger " + file.getName() + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Reads every distinct chunk in the ledger without modifying it.
+	 */
+	public synchronized long[] read() {
+		if (!file.isFile()) return new long[0];
+
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+			int count = buffer.remaining() / ENTRY_BYTES;
+			LongOpenHashSet seen = new LongOpenHashSet(count);
+			long[] keys = new long[count];
+			int distinct = 0;
+			for (int i = 0; i < count; i++) {
+				long key = buffer.getLong();
+				if (seen.add(key)) {
+					keys[distinct++] = key;
+				}
+			}
+			if (distinct == count) return keys;
+
+			long[] trimmed = new long[distinct];
+			System.arraycopy(keys, 0, trimmed, 0, distinct);
+			return trimmed;
+		} catch (IOException e) {
+			e.printStackTrace();
+			exceptionMsg("Failed to read chunk ledger " + file.getName() + ": " + e.getMessage());
+			return new long[0];
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package main;
 
+import org.bukkit.Chunk;
 import org.bukkit.World;
 
 import java.util.concurrent.CompletableFuture;
@@ -23,13 +24,38 @@ public final class ChunkSafety {
 	 * @return future that completes after the unload request has been queued
 	 */
 	public static CompletableFuture<Void> generateAndUnload(World world, int chunkX, int chunkZ, boolean gen) {
-		return world.getChunkAtAsync(chunkX, chunkZ, gen, true).thenAccept(chunk -> {
+		return generateAndUnload(world, chunkX, chunkZ, gen, true);
+	}
+
+	/**
+	 * Generates a chunk at the given priority, then queues it for unload.
+	 *
+	 * @param urgent false to let the request queue behind chunks players need
+	 */
+	public static CompletableFuture<Void> generateAndUnload(World world, int chunkX, int chunkZ, boolean gen, boolean urgent) {
+		return generate(world, chunkX, chunkZ, gen, urgent).thenAccept(chunk -> {
 			if (chunk != null && chunk.isLoaded()) {
 				world.unloadChunkRequest(chunkX, chunkZ);
 			}
 		});
 	}
 
+	/**
+	 * Generates a chunk through Paper's urgent async chunk loader and leaves unloading to the caller.
+	 *
+	 * @return future completed with the loaded chunk, or null if it could not be loaded
+	 */
+	public static CompletableFuture<Chunk> generate(World world, int chunkX, int chunkZ, boolean gen) {
+		return generate(world, chunkX, chunkZ, gen, true);
+	}
+
+	/**
+	 * Generates a chunk at the given priority and leaves unloading to the caller.
+	 */
+	public static CompletableFuture<Chunk> generate(World world, int chunkX, int chunkZ, boolean gen, boolean urgent) {
+		return world.getChunkAtAsync(chunkX, chunkZ, gen, urgent);
+	}
+
 	/**
 	 * Compatibility overload for callers that still use ChunkPos.
 	 */
@@ -0,0 +1,186 @@
+package main;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.util.Locale;
+import java.util.concurrent.Future;
+
+import static main.ConsoleColorUtils.*;
+
+/**
+ * Tracks the submit time and cancellable handle of every in-flight chunk of a task,
+ * so requests that never complete can be reported and queued work can be cancelled.
+ */
+public final class ChunkWatchdog {
+	private static final int DUMP_FRAME_LIMIT = 12;
+	private static final String[] WORKER_THREAD_MARKERS = {"chunk system", "chunk worker", "region scheduler", "worldgen"};
+
+	private final Long2LongOpenHashMap submittedAt = new Long2LongOpenHashMap();
+	private final Long2ObjectOpenHashMap<Object> handles = new Long2ObjectOpenHashMap<>();
+	private final LongOpenHashSet reported = new LongOpenHashSet();
+	private long lastDumpNanos;
+
+	/**
+	 * Records that a chunk was handed to the server.
+	 *
+	 * @param key packed chunk key
+	 */
+	public synchronized void track(long key) {
+		submittedAt.put(key, System.nanoTime());
+	}
+
+	/**
+	 * Attaches the scheduler task or future currently responsible for a tracked chunk.
+	 * A chunk's own future is kept over a region task attached later, since that task may already have run and issued it.
+	 *
+	 * @param key    packed chunk key
+	 * @param handle a Folia {@link ScheduledTask} or a {@link Future}
+	 */
+	public synchronized void attach(long key, Object handle) {
+		if (!submittedAt.containsKey(key)) return;
+		if (handle instanceof ScheduledTask && handles.get(key) instanceof Future<?>) return;
+		handles.put(key, handle);
+	}
+
+	/**
+	 * Removes a chunk once its request finishes.
+	 *
+	 * @param key packed chunk key
+	 * @return false if the chunk was not tracked, for example because the watchdog already abandoned it
+	 */
+	public synchronized boolean complete(long key) {
+		if (!submittedAt.containsKey(key)) return false;
+		submittedAt.remove(key);
+		handles.remove(key);
+		reported.remove(key);
+		return true;
+	}
+
+	/**
+	 * @return number of chunks currently in flight
+	 */
+	public synchronized int size() {
+		return submittedAt.size();
+	}
+
+	/**
+	 * Collects chunks that have been in flight for longer than the deadline.
+	 *
+	 * @param deadlineNanos maximum time a chunk may stay in flight
+	 * @param stuck         receives every overdue chunk
+	 * @return number of overdue chunks that were not reported by an earlier call
+	 */
+	public synchronized int collectStuck(long deadlineNanos, LongArrayList stuck) {
+		long now = System.nanoTime();
+		int newlyStuck = 0;
+		for (Long2LongMap.Entry entry : submittedAt.long2LongEntrySet()) {
+			if (now - entry.getLongValue() < deadlineNanos) continue;
+			long key = entry.getLongKey();
+			stuck.add(key);
+			if (reported.add(key)) newlyStuck++;
+		}
+		return newlyStuck;
+	}
+
+	/**
+	 * @return submit time of a tracked chunk, or {@code Long.MIN_VALUE} if it is not tracked
+	 */
+	public synchronized long submittedAt(long key) {
+		return submittedAt.containsKey(key) ? submittedAt.get(key) : Long.MIN_VALUE;
+	}
+
+	public synchronized void clear() {
+		submittedAt.clear();
+		handles.clear();
+		reported.clear();
+	}
+
+	/**
+	 * Stops tracking every in-flight chunk and cancels whatever has not finished yet.
+	 * Completions that arrive afterwards are ignored because the chunks are no longer tracked.
+	 *
+	 * @return keys of chunks whose work was cancelled or never got a handle
+	 */
+	public long[] cancelAll() {
+		long[] keys;
+		Object[] pending;
+		synchronized (this) {
+			keys = submittedAt.keySet().toLongArray();
+			pending = new Object[keys.length];
+			for (int i = 0; i < keys.length; i++) {
+				pending[i] = handles.get(keys[i]);
+			}
+			clear();
+		}
+
+		LongArrayList cancelled = new LongArrayList(keys.length);
+		for (int i = 0; i < keys.length; i++) {
+			if (cancel(pending[i])) {
+				cancelled.add(keys[i]);
+			}
+		}
+		return cancelled.toLongArray();
+	}
+
+	private static boolean cancel(Object handle) {
+		if (handle instanceof ScheduledTask scheduled) {
+			// Several chunks can share one region task; only the first cancel reports CANCELLED_BY_CALLER.
+			ScheduledTask.CancelledState state = scheduled.cancel();
+			return state == ScheduledTask.CancelledState.CANCELLED_BY_CALLER || state == ScheduledTask.CancelledState.CANCELLED_ALREADY;
+		}
+		if (handle instanceof Future<?> future) {
+			return future.cancel(false);
+		}
+		return true;
+	}
+
+	/**
+	 * Dumps the stacks of the server's chunk worker and region threads, at most once per interval.
+	 *
+	 * @param minIntervalNanos minimum time between two dumps
+	 */
+	public void dumpWorkerThreads(long minIntervalNanos) {
+		long now = System.nanoTime();
+		synchronized (this) {
+			if (lastDumpNanos != 0L && now - lastDumpNanos < minIntervalNanos) return;
+			lastDumpNanos = now;
+		}
+
+		ThreadInfo[] threads = ManagementFactory.getThreadMXBean().dumpAllThreads(false, false);
+		int dumped = 0;
+		for (ThreadInfo thread : threads) {
+			if (thread == null || !isWorkerThread(thread.getThreadName())) continue;
+			StringBuilder sb = new StringBuilder(512)
+					.append('"').append(thread.getThreadName()).append("\" ").append(thread.getThreadState());
+			if (thread.getLockName() != null) {
+				sb.append(" on ").append(thread.getLockName());
+			}
+			StackTraceElement[] frames = thread.getStackTrace();
+			for (int i = 0, limit = Math.min(frames.length, DUMP_FRAME_LIMIT); i < limit; i++) {
+				sb.append("\n    at ").append(frames[i]);
+			}
+			logPlain(sb.toString());
+			dumped++;
+		}
+		if (dumped == 0) {
+			logColor(YELLOW, "No chunk worker threads found to dump");
+		}
+	}
+
+	private static boolean isWorkerThread(String name) {
+		if (name == null) return false;
+		String lower = name.toLowerCase(Locale.ROOT);
+		for (String marker : WORKER_THREAD_MARKERS) {
+			if (lower.contains(marker)) return true;
+		}
+		return false;
+	}
+}
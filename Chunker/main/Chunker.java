@@ -5,13 +5,13 @@ import org.bukkit.plugin.java.JavaPlugin;
 
 public class Chunker extends JavaPlugin implements Listener {
 	private PluginSettings settings;
+	private PreGenerator preGenerator;
 
 	@Override
 	public void onEnable() {
 		getServer().getPluginManager().registerEvents(this, this);
 		settings = new PluginSettings(this);
 
-		PreGenerator preGenerator;
 		try {
 			preGenerator = new PreGenerator(this);
 		} catch (RuntimeException e) {
@@ -30,4 +30,12 @@ public class Chunker extends JavaPlugin implements Listener {
 
 		new ServerStateManager(this, preGeneratorCommands);
 	}
+
+	@Override
+	public void onDisable() {
+		if (preGenerator != null) {
+			preGenerator.shutdown();
+			preGenerator = null;
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package main;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chunk admission credit for running alongside players. Each finished tick converts the slack it left
+ * before the next tick into credit, after keeping a reserve for the players; a tick with no slack adds nothing.
+ */
+public final class CoexistenceThrottle {
+	private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+	private final long reservedNanos;
+	private final int maxChunksPerTick;
+	private double credit;
+	private long lastTickStart;
+
+	/**
+	 * @param reservedMillis   slack per tick that is always left to the server
+	 * @param maxChunksPerTick chunks admitted for a tick that is otherwise idle
+	 */
+	public CoexistenceThrottle(double reservedMillis, int maxChunksPerTick) {
+		this.reservedNanos = Math.min(TICK_NANOS - 1L, Math.max(0L, (long) (reservedMillis * 1_000_000D)));
+		this.maxChunksPerTick = Math.max(1, maxChunksPerTick);
+	}
+
+	/**
+	 * Adds credit for the slack left by the tick that just ended.
+	 *
+	 * @param remainingNanos time left before the next tick is due; negative when the server is behind
+	 */
+	public synchronized void onTickEnd(long remainingNanos) {
+		long usable = remainingNanos - reservedNanos;
+		if (usable <= 0L) {
+			credit = 0D;
+			return;
+		}
+		double fraction = Math.min(1D, usable / (double) (TICK_NANOS - reservedNanos));
+		credit = Math.min(maxChunksPerTick * 2D, credit + maxChunksPerTick * fraction);
+	}
+
+	/**
+	 * Estimates the slack from tick lateness where no tick end event reports it: a tick that starts on time counts as idle.
+	 *
+	 * @param now start of the current tick
+	 */
+	public synchronized void onTickStart(long now) {
+		long previous = lastTickStart;
+		lastTickStart = now;
+		if (previous == 0L) return;
+		onTickEnd(2L * TICK_NANOS - (now - previous));
+	}
+
+	/**
+	 * Takes up to {@code wanted} chunks of credit.
+	 *
+	 * @return number of chunks the caller may submit now
+	 */
+	public synchronized int acquire(int wanted) {
+		int granted = (int) Math.min(wanted, Math.floor(credit));
+		if (granted <= 0) return 0;
+		credit -= granted;
+		return granted;
+	}
+}
@@ -0,0 +1,330 @@
+package main;
+
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static main.ConsoleColorUtils.*;
+
+/**
+ * Keeps a pool of random-teleport destinations per configured world whose surrounding chunks are already generated
+ * and whose landing block has been checked. Registered as a Bukkit service so teleport plugins can {@link #claim} one:
+ * <pre>
+ * DestinationPool pool = Bukkit.getServicesManager().load(DestinationPool.class);
+ * Location target = pool == null ? null : pool.claim(world);
+ * </pre>
+ * Destinations are packed into one long each, persisted per world, and replenished in the background as they are claimed.
+ */
+public final class DestinationPool {
+	private static final int MAGIC = 0x43445031;
+	private static final long FILL_INTERVAL_MS = 1000L;
+	private static final long FLUSH_INTERVAL_MS = TimeUnit.SECONDS.toMillis(30);
+	private static final int MAX_CANDIDATES_IN_FLIGHT = 2;
+	private static final int NETHER_SCAN_TOP = 120;
+	private static final Set<Material> UNSAFE_GROUND = EnumSet.of(Material.LAVA, Material.MAGMA_BLOCK, Material.CACTUS, Material.FIRE, Material.POWDER_SNOW);
+
+	private final JavaPlugin plugin;
+	private final boolean folia;
+	private final String[] worldIds;
+	private final int size;
+	private final int radius;
+	private final int minDistance;
+	private final int maxDistance;
+	private final ConcurrentHashMap<String, WorldPool> pools = new ConcurrentHashMap<>();
+	private final AsyncDelayedScheduler scheduler = new AsyncDelayedScheduler();
+
+	public DestinationPool(JavaPlugin plugin, boolean folia) {
+		this.plugin = plugin;
+		this.folia = folia;
+		this.worldIds = PluginSettings.Tuning.DESTINATION_POOL_WORLDS.getString().split("\\s*,\\s*");
+		this.size = Math.max(1, PluginSettings.Tuning.DESTINATION_POOL_SIZE.getInt());
+		this.radius = Math.max(0, PluginSettings.Tuning.DESTINATION_POOL_RADIUS_CHUNKS.getInt());
+		this.minDistance = Math.max(0, PluginSettings.Tuning.DESTINATION_POOL_MIN_DISTANCE.getInt());
+		this.maxDistance = Math.max(minDistance + 16, PluginSettings.Tuning.DESTINATION_POOL_MAX_DISTANCE.getInt());
+	}
+
+	/**
+	 * Starts filling the pools and saving them periodically.
+	 */
+	public void start() {
+		scheduler.scheduleAtFixedRate(this::fill, FILL_INTERVAL_MS, FILL_INTERVAL_MS, TimeUnit.MILLISECONDS, scheduler.isEnabledSupplier());
+		scheduler.scheduleAtFixedRate(this::flush, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS, scheduler.isEnabledSupplier());
+	}
+
+	/**
+	 * Stops filling and saving the pools, and writes the claims made since the last save.
+	 */
+	public void stop() {
+		scheduler.setEnabled(false);
+		flush();
+	}
+
+	/**
+	 * Takes a ready destination out of a world's pool; a replacement is generated in the background.
+	 *
+	 * @return the location to teleport to, standing on the checked block, or null if the pool is empty or not configured
+	 */
+	public Location claim(World world) {
+		WorldPool pool = pools.get(WorldRegistry.id(world));
+		if (pool == null) return null;
+		long packed;
+		synchronized (pool) {
+			if (pool.ready.isEmpty()) return null;
+			packed = pool.ready.dequeueLong();
+			pool.dirty = true;
+		}
+		return new Location(world, unpackX(packed) + 0.5D, unpackY(packed), unpackZ(packed) + 0.5D);
+	}
+
+	/**
+	 * @return the number of destinations ready in a world's pool
+	 */
+	public int available(World world) {
+		WorldPool pool = pools.get(WorldRegistry.id(world));
+		if (pool == null) return 0;
+		synchronized (pool) {
+			return pool.ready.size();
+		}
+	}
+
+	private void fill() {
+		try {
+			for (String worldId : worldIds) {
+				if (worldId.isEmpty()) continue;
+				World world = WorldRegistry.resolveWorld(worldId, false);
+				if (world == null) continue;
+				WorldPool pool = pool(WorldRegistry.id(world));
+				// Candidates rejected by the border release at once, so attempts are capped per call rather than by pending.
+				for (int attempt = 0; attempt < MAX_CANDIDATES_IN_FLIGHT; attempt++) {
+					synchronized (pool) {
+						if (pool.ready.size() + pool.pending >= size || pool.pending >= MAX_CANDIDATES_IN_FLIGHT) break;
+						pool.pending++;
+					}
+					generateCandidate(world, pool);
+				}
+			}
+		} catch (Exception e) {
+			exceptionMsg("Exception in DestinationPool: " + e.getMessage());
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Generates the square around a random chunk within the configured distance of spawn, then checks its center.
+	 * The distance is clamped to the border radius, so a border smaller than the minimum distance still yields candidates.
+	 */
+	private void generateCandidate(World world, WorldPool pool) {
+		Location spawn = world.getSpawnLocation();
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		double angle = random.nextDouble(Math.PI * 2D);
+		double max = Math.min(maxDistance, world.getWorldBorder().getSize() / 2D);
+		double min = Math.min(minDistance, max / 2D);
+		double distance = max > min ? random.nextDouble(min, max) : max;
+		int blockX = spawn.getBlockX() + (int) (Math.cos(angle) * distance);
+		int blockZ = spawn.getBlockZ() + (int) (Math.sin(angle) * distance);
+		if (!world.getWorldBorder().isInside(new Location(world, blockX, 0D, blockZ))) {
+			release(pool, 0L, false);
+			return;
+		}
+		int centerX = blockX >> 4;
+		int centerZ = blockZ >> 4;
+		int side = radius * 2 + 1;
+		AtomicInteger remaining = new AtomicInteger(side * side);
+		AtomicBoolean failed = new AtomicBoolean();
+		for (int x = centerX - radius; x <= centerX + radius; x++) {
+			for (int z = centerZ - radius; z <= centerZ + radius; z++) {
+				int chunkX = x;
+				int chunkZ = z;
+				Runnable load = () -> world.getChunkAtAsync(chunkX, chunkZ, true, false).whenComplete((Chunk chunk, Throwable ex) -> {
+					if (chunk == null || ex != null) failed.set(true);
+					else if (chunk.isLoaded()) world.unloadChunkRequest(chunkX, chunkZ);
+					if (remaining.decrementAndGet() > 0) return;
+					if (failed.get()) release(pool, 0L, false);
+					else inspect(world, pool, centerX, centerZ);
+				});
+				if (folia) {
+					Bukkit.getRegionScheduler().execute(plugin, world, chunkX, chunkZ, load);
+				} else {
+					load.run();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reloads the center chunk, which completes on the thread owning it, and looks for safe ground in its middle column.
+	 */
+	private void inspect(World world, WorldPool pool, int chunkX, int chunkZ) {
+		Runnable check = () -> world.getChunkAtAsync(chunkX, chunkZ, false, false).whenComplete((Chunk chunk, Throwable ex) -> {
+			if (chunk == null || ex != null) {
+				release(pool, 0L, false);
+				return;
+			}
+			try {
+				int blockX = (chunkX << 4) + 8;
+				int blockZ = (chunkZ << 4) + 8;
+				int groundY = findGround(world, blockX, blockZ);
+				if (groundY == Integer.MIN_VALUE) release(pool, 0L, false);
+				else release(pool, pack(blockX, groundY + 1, blockZ), true);
+			} catch (Exception e) {
+				release(pool, 0L, false);
+				exceptionMsg("Exception checking destination: " + e.getMessage());
+				e.printStackTrace();
+			} finally {
+				world.unloadChunkRequest(chunkX, chunkZ);
+			}
+		});
+		if (folia) {
+			Bukkit.getRegionScheduler().execute(plugin, world, chunkX, chunkZ, check);
+		} else {
+			check.run();
+		}
+	}
+
+	/**
+	 * Scans down for a solid, harmless block with two passable, dry blocks above it; the Nether starts below its roof.
+	 *
+	 * @return the ground block's y, or {@link Integer#MIN_VALUE} if the column has no safe ground
+	 */
+	private static int findGround(World world, int blockX, int blockZ) {
+		int top = world.getEnvironment() == World.Environment.NETHER
+				? Math.min(NETHER_SCAN_TOP, world.getMaxHeight() - 3)
+				: Math.min(world.getHighestBlockYAt(blockX, blockZ), world.getMaxHeight() - 3);
+		for (int y = top; y > world.getMinHeight(); y--) {
+			Block ground = world.getBlockAt(blockX, y, blockZ);
+			if (!ground.isSolid() || UNSAFE_GROUND.contains(ground.getType())) {
+				if (ground.isLiquid()) return Integer.MIN_VALUE;
+				continue;
+			}
+			Block feet = world.getBlockAt(blockX, y + 1, blockZ);
+			Block head = world.getBlockAt(blockX, y + 2, blockZ);
+			if (feet.isPassable() && !feet.isLiquid() && head.isPassable() && !head.isLiquid()
+					&& !UNSAFE_GROUND.contains(feet.getType())) {
+				return y;
+			}
+		}
+		return Integer.MIN_VALUE;
+	}
+
+	private static void release(WorldPool pool, long packed, boolean ready) {
+		synchronized (pool) {
+			pool.pending--;
+			if (ready) {
+				pool.ready.enqueue(packed);
+				pool.dirty = true;
+			}
+		}
+	}
+
+	/**
+	 * Writes every pool that changed since the last flush.
+	 */
+	public void flush() {
+		for (Map.Entry<String, WorldPool> entry : pools.entrySet()) {
+			WorldPool pool = entry.getValue();
+			long[] ready;
+			synchronized (pool) {
+				if (!pool.dirty) continue;
+				ready = new long[pool.ready.size()];
+				for (int i = 0; i < ready.length; i++) {
+					long packed = pool.ready.dequeueLong();
+					ready[i] = packed;
+					pool.ready.enqueue(packed);
+				}
+				pool.dirty = false;
+			}
+			try {
+				write(WorldRegistry.destinationPoolFile(plugin, entry.getKey()), ready);
+			} catch (IOException e) {
+				exceptionMsg("Failed to save destination pool for " + entry.getKey() + ": " + e.getMessage());
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private WorldPool pool(String worldId) {
+		WorldPool pool = pools.get(worldId);
+		if (pool != null) return pool;
+		return pools.computeIfAbsent(worldId, this::load);
+	}
+
+	private WorldPool load(String worldId) {
+		WorldPool pool = new WorldPool();
+		File file = WorldRegistry.destinationPoolFile(plugin, worldId);
+		if (!file.isFile()) return pool;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			if (in.readInt() != MAGIC) throw new IOException("Not a destination pool file: " + file.getName());
+			int count = in.readInt();
+			if (count < 0) throw new IOException("Corrupt destination pool file: " + file.getName());
+			for (int i = 0; i < count; i++) {
+				pool.ready.enqueue(in.readLong());
+			}
+		} catch (IOException e) {
+			exceptionMsg("Failed to read destination pool for " + worldId + ": " + e.getMessage());
+			pool.ready.clear();
+		}
+		return pool;
+	}
+
+	/**
+	 * Writes a magic number, a count and the packed destinations; the file is replaced atomically.
+	 */
+	private static void write(File file, long[] ready) throws IOException {
+		File temp = new File(file.getPath() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp.toPath())))) {
+			out.writeInt(MAGIC);
+			out.writeInt(ready.length);
+			for (long packed : ready) {
+				out.writeLong(packed);
+			}
+		}
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Packs block x and z into 26 signed bits each and y into the low 12.
+	 */
+	private static long pack(int x, int y, int z) {
+		return ((long) x << 38) | (((long) z & 0x3FFFFFFL) << 12) | ((long) y & 0xFFFL);
+	}
+
+	private static int unpackX(long packed) {
+		return (int) (packed >> 38);
+	}
+
+	private static int unpackZ(long packed) {
+		return (int) (packed << 26 >> 38);
+	}
+
+	private static int unpackY(long packed) {
+		return (int) (packed << 52 >> 52);
+	}
+
+	private static final class WorldPool {
+		final LongArrayFIFOQueue ready = new LongArrayFIFOQueue();
+		int pending;
+		boolean dirty;
+	}
+}
@@ -0,0 +1,211 @@
+package main;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerPortalEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.event.world.PortalCreateEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static main.ConsoleColorUtils.*;
+
+/**
+ * Generates a small square around the destination of new Nether portals and long-range teleports as soon as
+ * the intent is known, so the player does not arrive in ungenerated terrain. Requests are urgent, capped in flight,
+ * and skip chunks requested recently or already covered by a running task in the target world.
+ */
+public final class DestinationPregen implements Listener {
+	private static final long SUBMIT_INTERVAL_MS = 50L;
+	private static final int RECENT_MEMORY = 8192;
+	private static final int NETHER_SCALE = 8;
+
+	/**
+	 * Tells whether a running pre-generation task has already passed a chunk.
+	 */
+	public interface Coverage {
+		boolean covers(World world, int chunkX, int chunkZ);
+	}
+
+	private final JavaPlugin plugin;
+	private final boolean folia;
+	private final Coverage coverage;
+	private final int radius;
+	private final int maxInFlight;
+	private final double minTeleportDistanceSquared;
+	private final Object lock = new Object();
+	private final ArrayDeque<Request> queue = new ArrayDeque<>();
+	private final Int2ObjectOpenHashMap<LongOpenHashSet> recent = new Int2ObjectOpenHashMap<>();
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AsyncDelayedScheduler scheduler = new AsyncDelayedScheduler();
+
+	public DestinationPregen(JavaPlugin plugin, boolean folia, Coverage coverage) {
+		this.plugin = plugin;
+		this.folia = folia;
+		this.coverage = coverage;
+		this.radius = Math.max(0, PluginSettings.Tuning.DESTINATION_RADIUS_CHUNKS.getInt());
+		this.maxInFlight = Math.max(1, PluginSettings.Tuning.DESTINATION_MAX_IN_FLIGHT.getInt());
+		double minDistance = Math.max(0D, PluginSettings.Tuning.DESTINATION_MIN_TELEPORT_BLOCKS.getDouble());
+		this.minTeleportDistanceSquared = minDistance * minDistance;
+	}
+
+	/**
+	 * Starts handing queued destination chunks to the server.
+	 */
+	public void start() {
+		scheduler.scheduleAtFixedRate(this::submit, SUBMIT_INTERVAL_MS, SUBMIT_INTERVAL_MS, TimeUnit.MILLISECONDS, scheduler.isEnabledSupplier());
+	}
+
+	/**
+	 * Stops handing queued destination chunks to the server.
+	 */
+	public void stop() {
+		scheduler.setEnabled(false);
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	private void onPortalCreate(PortalCreateEvent event) {
+		try {
+			List<BlockState> blocks = event.getBlocks();
+			if (blocks == null || blocks.isEmpty()) return;
+			BlockState anchor = blocks.getFirst();
+			World world = event.getWorld();
+			switch (event.getReason()) {
+				case FIRE -> {
+					World target = pairedWorld(world);
+					if (target == null) return;
+					int scale = world.getEnvironment() == World.Environment.NETHER ? NETHER_SCALE : 1;
+					int divisor = target.getEnvironment() == World.Environment.NETHER ? NETHER_SCALE : 1;
+					enqueue(target, Math.floorDiv(anchor.getX() * scale, divisor) >> 4, Math.floorDiv(anchor.getZ() * scale, divisor) >> 4);
+				}
+				case NETHER_PAIR -> enqueue(world, anchor.getX() >> 4, anchor.getZ() >> 4);
+				default -> {
+				}
+			}
+		} catch (Exception e) {
+			exceptionMsg("Exception in onPortalCreate: " + e.getMessage());
+			e.printStackTrace();
+		}
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	private void onPlayerTeleport(PlayerTeleportEvent event) {
+		handleTeleport(event.getFrom(), event.getTo());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	private void onPlayerPortal(PlayerPortalEvent event) {
+		handleTeleport(event.getFrom(), event.getTo());
+	}
+
+	private void handleTeleport(Location from, Location to) {
+		try {
+			if (to == null || to.getWorld() == null) return;
+			if (from.getWorld() == to.getWorld() && from.distanceSquared(to) < minTeleportDistanceSquared) return;
+			enqueue(to.getWorld(), to.getBlockX() >> 4, to.getBlockZ() >> 4);
+		} catch (Exception e) {
+			exceptionMsg("Exception in destination teleport handling: " + e.getMessage());
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Queues the square around a destination chunk, nearest rings first.
+	 */
+	private void enqueue(World world, int centerX, int centerZ) {
+		int worldId = WorldIdManager.idOf(world);
+		synchronized (lock) {
+			LongOpenHashSet seen = recent.get(worldId);
+			if (seen == null) {
+				seen = new LongOpenHashSet();
+				recent.put(worldId, seen);
+			}
+			if (seen.size() >= RECENT_MEMORY) seen.clear();
+			for (int ring = 0; ring <= radius; ring++) {
+				for (int x = centerX - ring; x <= centerX + ring; x++) {
+					for (int z = centerZ - ring; z <= centerZ + ring; z++) {
+						if (Math.max(Math.abs(x - centerX), Math.abs(z - centerZ)) != ring) continue;
+						if (!seen.add(MortonCode.encode(x, z)) || coverage.covers(world, x, z)) continue;
+						queue.addLast(new Request(world, x, z));
+					}
+				}
+			}
+		}
+	}
+
+	private void submit() {
+		try {
+			while (inFlight.get() < maxInFlight) {
+				Request request;
+				synchronized (lock) {
+					request = queue.pollFirst();
+				}
+				if (request == null) return;
+				inFlight.incrementAndGet();
+				if (folia) {
+					Bukkit.getRegionScheduler().execute(plugin, request.world, request.chunkX, request.chunkZ, () -> load(request));
+				} else {
+					load(request);
+				}
+			}
+		} catch (Exception e) {
+			exceptionMsg("Exception in DestinationPregen: " + e.getMessage());
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Generates a queued chunk. It is first loaded without generation so chunks already on disk are never generated
+	 * again; only a chunk that comes back missing is requested with generation.
+	 */
+	private void load(Request request) {
+		request.world.getChunkAtAsync(request.chunkX, request.chunkZ, false, true).whenComplete((Chunk existing, Throwable ex) -> {
+			if (ex != null || existing != null) {
+				inFlight.decrementAndGet();
+				release(request, existing);
+				return;
+			}
+			request.world.getChunkAtAsync(request.chunkX, request.chunkZ, true, true).whenComplete((Chunk chunk, Throwable e) -> {
+				inFlight.decrementAndGet();
+				release(request, chunk);
+			});
+		});
+	}
+
+	private static void release(Request request, Chunk chunk) {
+		if (chunk != null && chunk.isLoaded()) {
+			request.world.unloadChunkRequest(request.chunkX, request.chunkZ);
+		}
+	}
+
+	/**
+	 * @return the Nether for an overworld portal and the overworld for a Nether portal, or null if not loaded
+	 */
+	private static World pairedWorld(World world) {
+		World.Environment target = switch (world.getEnvironment()) {
+			case NORMAL -> World.Environment.NETHER;
+			case NETHER -> World.Environment.NORMAL;
+			default -> null;
+		};
+		if (target == null) return null;
+		for (World candidate : Bukkit.getWorlds()) {
+			if (candidate.getEnvironment() == target) return candidate;
+		}
+		return null;
+	}
+
+	private record Request(World world, int chunkX, int chunkZ) {
+	}
+}
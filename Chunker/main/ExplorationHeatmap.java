@@ -0,0 +1,188 @@
+package main;
+
+import it.unimi.dsi.fastutil.longs.Long2FloatMap;
+import it.unimi.dsi.fastutil.longs.Long2FloatOpenHashMap;
+import org.bukkit.World;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static main.ConsoleColorUtils.*;
+
+/**
+ * Decayed per-region count of player visits, kept per world in a small binary file.
+ * A visit is a player entering a region; counts halve every configured half-life, and faded regions are dropped.
+ */
+public final class ExplorationHeatmap {
+	private static final int MAGIC = 0x43484D31;
+	private static final long FLUSH_INTERVAL_MS = TimeUnit.MINUTES.toMillis(5);
+	private static final float MIN_HEAT = 0.05F;
+
+	private final JavaPlugin plugin;
+	private final double halfLifeMillis;
+	private final ConcurrentHashMap<String, WorldHeat> worlds = new ConcurrentHashMap<>();
+	private final AsyncDelayedScheduler scheduler = new AsyncDelayedScheduler();
+
+	public ExplorationHeatmap(JavaPlugin plugin) {
+		this.plugin = plugin;
+		this.halfLifeMillis = Math.max(0.01D, PluginSettings.Tuning.HEATMAP_HALF_LIFE_DAYS.getDouble()) * TimeUnit.DAYS.toMillis(1);
+	}
+
+	/**
+	 * Starts writing changed heatmaps to disk every few minutes.
+	 */
+	public void start() {
+		scheduler.scheduleAtFixedRate(this::flush, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS, scheduler.isEnabledSupplier());
+	}
+
+	/**
+	 * Stops the periodic flush and writes what changed since the last one.
+	 */
+	public void stop() {
+		scheduler.setEnabled(false);
+		flush();
+	}
+
+	/**
+	 * Records a player entering a region.
+	 */
+	public void visit(World world, int regionX, int regionZ) {
+		WorldHeat heat = heat(WorldRegistry.id(world));
+		synchronized (heat) {
+			heat.regions.addTo(MortonCode.encode(regionX, regionZ), 1F);
+			heat.dirty = true;
+		}
+	}
+
+	/**
+	 * @return a decayed copy of a world's heat, keyed by packed region coordinates
+	 */
+	public Long2FloatOpenHashMap snapshot(World world) {
+		WorldHeat heat = heat(WorldRegistry.id(world));
+		synchronized (heat) {
+			decay(heat, System.currentTimeMillis());
+			return copy(heat.regions);
+		}
+	}
+
+	/**
+	 * Writes every heatmap that changed since the last flush.
+	 */
+	public void flush() {
+		for (Map.Entry<String, WorldHeat> entry : worlds.entrySet()) {
+			WorldHeat heat = entry.getValue();
+			Long2FloatOpenHashMap regions;
+			long decayedAt;
+			synchronized (heat) {
+				if (!heat.dirty) continue;
+				decay(heat, System.currentTimeMillis());
+				regions = copy(heat.regions);
+				decayedAt = heat.decayedAt;
+				heat.dirty = false;
+			}
+			try {
+				write(WorldRegistry.heatmapFile(plugin, entry.getKey()), regions, decayedAt);
+			} catch (IOException e) {
+				exceptionMsg("Failed to save exploration heatmap for " + entry.getKey() + ": " + e.getMessage());
+				e.printStackTrace();
+			}
+		}
+	}
+
+	private WorldHeat heat(String worldId) {
+		WorldHeat heat = worlds.get(worldId);
+		if (heat != null) return heat;
+		return worlds.computeIfAbsent(worldId, this::load);
+	}
+
+	private WorldHeat load(String worldId) {
+		WorldHeat heat = new WorldHeat();
+		heat.decayedAt = System.currentTimeMillis();
+		File file = WorldRegistry.heatmapFile(plugin, worldId);
+		if (!file.isFile()) return heat;
+		try {
+			heat.decayedAt = read(file, heat.regions);
+		} catch (IOException e) {
+			exceptionMsg("Failed to read exploration heatmap for " + worldId + ": " + e.getMessage());
+			heat.regions.clear();
+		}
+		return heat;
+	}
+
+	private void decay(WorldHeat heat, long now) {
+		long elapsed = now - heat.decayedAt;
+		if (elapsed <= 0L) return;
+		float factor = (float) Math.pow(0.5D, elapsed / halfLifeMillis);
+		Long2FloatOpenHashMap decayed = new Long2FloatOpenHashMap(heat.regions.size());
+		for (Long2FloatMap.Entry region : heat.regions.long2FloatEntrySet()) {
+			float value = region.getFloatValue() * factor;
+			if (value >= MIN_HEAT) decayed.put(region.getLongKey(), value);
+		}
+		heat.regions = decayed;
+		heat.decayedAt = now;
+	}
+
+	private static Long2FloatOpenHashMap copy(Long2FloatOpenHashMap source) {
+		Long2FloatOpenHashMap copy = new Long2FloatOpenHashMap(source.size());
+		for (Long2FloatMap.Entry region : source.long2FloatEntrySet()) {
+			copy.put(region.getLongKey(), region.getFloatValue());
+		}
+		return copy;
+	}
+
+	/**
+	 * Writes region heat as a magic number, the time it was decayed to, a count and (region key, heat) pairs.
+	 * The file is replaced atomically.
+	 */
+	public static void write(File file, Long2FloatOpenHashMap regions, long decayedAt) throws IOException {
+		File parent = file.getParentFile();
+		if (parent != null && !parent.exists() && !parent.mkdirs()) {
+			throw new IOException("Failed to create " + parent);
+		}
+		File temp = new File(file.getPath() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp.toPath())))) {
+			out.writeInt(MAGIC);
+			out.writeLong(decayedAt);
+			out.writeInt(regions.size());
+			for (Long2FloatMap.Entry region : regions.long2FloatEntrySet()) {
+				out.writeLong(region.getLongKey());
+				out.writeFloat(region.getFloatValue());
+			}
+		}
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Reads a file written by {@link #write} into {@code regions}.
+	 *
+	 * @return the time the stored heat was decayed to
+	 */
+	public static long read(File file, Long2FloatOpenHashMap regions) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			if (in.readInt() != MAGIC) throw new IOException("Not a heatmap file: " + file.getName());
+			long decayedAt = in.readLong();
+			int count = in.readInt();
+			if (count < 0) throw new IOException("Corrupt heatmap file: " + file.getName());
+			for (int i = 0; i < count; i++) {
+				regions.put(in.readLong(), in.readFloat());
+			}
+			return decayedAt;
+		}
+	}
+
+	private static final class WorldHeat {
+		Long2FloatOpenHashMap regions = new Long2FloatOpenHashMap();
+		long decayedAt;
+		boolean dirty;
+	}
+}
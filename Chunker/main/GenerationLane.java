@@ -0,0 +1,166 @@
+package main;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One spatially separated stripe of a Folia generation target with its own spiral, in-flight budget and throughput.
+ * Lanes are split along the longer axis of the target and aligned to region sections,
+ * so each lane keeps a different Folia region thread busy.
+ */
+public final class GenerationLane {
+	private static final int MIN_LANE_WIDTH_CHUNKS = 32;
+	private static final int SECTION_CHUNKS = 1 << UnloadDispatcher.SECTION_SHIFT;
+
+	public final int index;
+	public final int minChunkX;
+	public final int maxChunkX;
+	public final int minChunkZ;
+	public final int maxChunkZ;
+	public final long quota;
+	public final RegionChunkIterator iterator = new RegionChunkIterator();
+	public final AtomicLong submitted = new AtomicLong();
+	public final AtomicInteger inFlight = new AtomicInteger();
+	public final LongAdder completed = new LongAdder();
+	private final int centerRegionX;
+	private final int centerRegionZ;
+	private volatile boolean done;
+
+	private GenerationLane(int index, int minChunkX, int maxChunkX, int minChunkZ, int maxChunkZ) {
+		this.index = index;
+		this.minChunkX = minChunkX;
+		this.maxChunkX = maxChunkX;
+		this.minChunkZ = minChunkZ;
+		this.maxChunkZ = maxChunkZ;
+		this.quota = ((long) maxChunkX - minChunkX + 1L) * ((long) maxChunkZ - minChunkZ + 1L);
+		int centerChunkX = (int) (((long) minChunkX + maxChunkX) >> 1);
+		int centerChunkZ = (int) (((long) minChunkZ + maxChunkZ) >> 1);
+		this.centerRegionX = centerChunkX >> 5;
+		this.centerRegionZ = centerChunkZ >> 5;
+		iterator.setCenterRegion(centerRegionX, centerRegionZ);
+		iterator.setChunkBounds(minChunkX, maxChunkX, minChunkZ, maxChunkZ);
+	}
+
+	/**
+	 * Splits a target into at most {@code laneCount} lanes along its longer axis.
+	 *
+	 * @return the lanes, or a single lane if the target is too narrow to split
+	 */
+	public static GenerationLane[] split(int laneCount, int minChunkX, int maxChunkX, int minChunkZ, int maxChunkZ) {
+		boolean alongX = (long) maxChunkX - minChunkX >= (long) maxChunkZ - minChunkZ;
+		int min = alongX ? minChunkX : minChunkZ;
+		int max = alongX ? maxChunkX : maxChunkZ;
+		long length = (long) max - min + 1L;
+		int lanes = (int) Math.max(1L, Math.min(laneCount, length / MIN_LANE_WIDTH_CHUNKS));
+
+		GenerationLane[] result = new GenerationLane[lanes];
+		int start = min;
+		for (int i = 0; i < lanes; i++) {
+			int end = max;
+			if (i < lanes - 1) {
+				long next = min + length * (i + 1) / lanes;
+				long aligned = Math.floorDiv(next, SECTION_CHUNKS) * SECTION_CHUNKS;
+				end = (int) ((aligned > start ? aligned : next) - 1L);
+			}
+			result[i] = alongX
+					? new GenerationLane(i, start, end, minChunkZ, maxChunkZ)
+					: new GenerationLane(i, minChunkX, maxChunkX, start, end);
+			start = end + 1;
+		}
+		return result;
+	}
+
+	/**
+	 * @return the lane whose stripe contains the chunk, or null if none does
+	 */
+	public static GenerationLane laneFor(GenerationLane[] lanes, int chunkX, int chunkZ) {
+		for (GenerationLane lane : lanes) {
+			if (chunkX >= lane.minChunkX && chunkX <= lane.maxChunkX && chunkZ >= lane.minChunkZ && chunkZ <= lane.maxChunkZ) {
+				return lane;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return true if this lane's spiral has already moved past the chunk's ring
+	 */
+	public boolean hasPassed(int chunkX, int chunkZ) {
+		return iterator.hasPassedRegion(centerRegionX, centerRegionZ, chunkX >> 5, chunkZ >> 5);
+	}
+
+	/**
+	 * Reads {@code threaded-regions.threads} from Folia's global config; Folia uses half the cores when it is not set.
+	 */
+	public static int configuredRegionThreads() {
+		File config = new File("config", "paper-global.yml");
+		int threads = config.isFile() ? YamlConfiguration.loadConfiguration(config).getInt("threaded-regions.threads", -1) : -1;
+		return threads > 0 ? threads : Math.max(1, PluginSettings.getAvailableProcessors() / 2);
+	}
+
+	/**
+	 * @return the next chunk of this lane, or null once its quota is submitted or its spiral has left the stripe
+	 */
+	public synchronized RegionChunkIterator.NextChunkResult next() {
+		if (done) return null;
+		RegionChunkIterator.NextChunkResult next = submitted.get() < quota ? iterator.getNextChunkCoordinates() : null;
+		if (next == null) {
+			done = true;
+			return null;
+		}
+		submitted.incrementAndGet();
+		return next;
+	}
+
+	public boolean done() {
+		return done;
+	}
+
+	/**
+	 * Serializes the lane's spiral position and submitted count as underscore-separated values.
+	 */
+	public synchronized String encode() {
+		return new StringBuilder(64)
+				.append(iterator.getCurrentRegionX()).append('_')
+				.append(iterator.getCurrentRegionZ()).append('_')
+				.append(iterator.getDirectionIndex()).append('_')
+				.append(iterator.getStepsRemaining()).append('_')
+				.append(iterator.getStepsToChange()).append('_')
+				.append(iterator.getChunkIndex()).append('_')
+				.append(submitted.get())
+				.toString();
+	}
+
+	/**
+	 * Restores a state written by {@link #encode()}.
+	 *
+	 * @throws NumberFormatException if the state is malformed
+	 */
+	public synchronized void restore(String state) {
+		String[] parts = state.strip().split("_");
+		if (parts.length != 7) {
+			throw new NumberFormatException("Expected 7 lane values but found " + parts.length);
+		}
+		iterator.setState(
+				Integer.parseInt(parts[0]),
+				Integer.parseInt(parts[1]),
+				Integer.parseInt(parts[2]),
+				Integer.parseInt(parts[3]),
+				Integer.parseInt(parts[4]),
+				Integer.parseInt(parts[5]));
+		submitted.set(Math.min(quota, Math.max(0L, Long.parseLong(parts[6]))));
+	}
+
+	/**
+	 * @return header line identifying the lane layout of a target
+	 */
+	public static String layout(GenerationLane[] lanes) {
+		GenerationLane first = lanes[0];
+		GenerationLane last = lanes[lanes.length - 1];
+		return lanes.length + "_" + first.minChunkX + "_" + last.maxChunkX + "_" + first.minChunkZ + "_" + last.maxChunkZ;
+	}
+}
@@ -0,0 +1,128 @@
+package main;
+
+import it.unimi.dsi.fastutil.longs.Long2FloatMap;
+import it.unimi.dsi.fastutil.longs.Long2FloatOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+
+import java.util.Arrays;
+
+/**
+ * Reorders the regions of each spiral ring so historically popular directions come first.
+ * The spiral still walks its usual slots and saves its usual state; the region generated for a slot
+ * is that slot's rank in the ring, so a frozen heat snapshot always maps a saved position back to the same region.
+ */
+public final class HeatRingOrder {
+	private static final int SECTORS = 16;
+	private static final int[] DX = {1, 0, -1, 0};
+	private static final int[] DZ = {0, 1, 0, -1};
+
+	private final Long2FloatOpenHashMap heat;
+	private final int centerRegionX;
+	private final int centerRegionZ;
+	private final float[] sectorShare = new float[SECTORS];
+	private final float maxRegionHeat;
+	private int cachedRing = -1;
+	private final Long2IntOpenHashMap slotOf = new Long2IntOpenHashMap();
+	private long[] ranked = new long[0];
+
+	/**
+	 * @param heat region heat keyed by packed region coordinates; not modified
+	 */
+	public HeatRingOrder(Long2FloatOpenHashMap heat, int centerRegionX, int centerRegionZ) {
+		this.heat = heat;
+		this.centerRegionX = centerRegionX;
+		this.centerRegionZ = centerRegionZ;
+		slotOf.defaultReturnValue(-1);
+
+		float total = 0F;
+		float max = 0F;
+		for (Long2FloatMap.Entry region : heat.long2FloatEntrySet()) {
+			float value = region.getFloatValue();
+			int sector = sector(MortonCode.getX(region.getLongKey()), MortonCode.getZ(region.getLongKey()));
+			if (sector >= 0) sectorShare[sector] += value;
+			total += value;
+			max = Math.max(max, value);
+		}
+		if (total > 0F) {
+			for (int i = 0; i < SECTORS; i++) {
+				sectorShare[i] /= total;
+			}
+		}
+		this.maxRegionHeat = max;
+	}
+
+	/**
+	 * @return true if the snapshot holds any heat to order by
+	 */
+	public boolean hasHeat() {
+		return maxRegionHeat > 0F;
+	}
+
+	/**
+	 * Maps the region at a spiral slot to the region generated in its place.
+	 *
+	 * @return packed region coordinates
+	 */
+	public long map(int spiralRegionX, int spiralRegionZ) {
+		long spiralKey = MortonCode.encode(spiralRegionX, spiralRegionZ);
+		int ring = Math.max(Math.abs(spiralRegionX - centerRegionX), Math.abs(spiralRegionZ - centerRegionZ));
+		if (ring == 0) return spiralKey;
+		if (ring != cachedRing) rankRing(ring);
+		int slot = slotOf.get(spiralKey);
+		return slot < 0 ? spiralKey : ranked[slot];
+	}
+
+	/**
+	 * Lists the ring in spiral order, then ranks it by the heat of its direction plus its own heat, keeping spiral order on ties.
+	 */
+	private void rankRing(int ring) {
+		int size = ring * 8;
+		long[] slots = new long[size];
+		int x = centerRegionX;
+		int z = centerRegionZ;
+		int direction = 0;
+		int stepsRemaining = 1;
+		int stepsToChange = 1;
+		int found = 0;
+		while (found < size) {
+			if (stepsRemaining == 0) {
+				direction = (direction + 1) & 3;
+				if ((direction & 1) == 0) stepsToChange++;
+				stepsRemaining = stepsToChange;
+			}
+			x += DX[direction];
+			z += DZ[direction];
+			stepsRemaining--;
+			if (Math.max(Math.abs(x - centerRegionX), Math.abs(z - centerRegionZ)) == ring) {
+				slots[found++] = MortonCode.encode(x, z);
+			}
+		}
+
+		Integer[] order = new Integer[size];
+		float[] score = new float[size];
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+			int regionX = MortonCode.getX(slots[i]);
+			int regionZ = MortonCode.getZ(slots[i]);
+			int sector = sector(regionX, regionZ);
+			score[i] = (sector >= 0 ? sectorShare[sector] : 0F) + heat.get(slots[i]) / maxRegionHeat;
+		}
+		Arrays.sort(order, (a, b) -> Float.compare(score[b], score[a]));
+
+		slotOf.clear();
+		ranked = new long[size];
+		for (int i = 0; i < size; i++) {
+			slotOf.put(slots[i], i);
+			ranked[i] = slots[order[i]];
+		}
+		cachedRing = ring;
+	}
+
+	private int sector(int regionX, int regionZ) {
+		int dx = regionX - centerRegionX;
+		int dz = regionZ - centerRegionZ;
+		if (dx == 0 && dz == 0) return -1;
+		double angle = Math.atan2(dz, dx) + Math.PI;
+		return Math.min(SECTORS - 1, (int) (angle / (2D * Math.PI) * SECTORS));
+	}
+}
@@ -0,0 +1,191 @@
+package main;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+import static main.ConsoleColorUtils.*;
+
+/**
+ * Shares one host-wide admission budget between every Chunker instance on a machine through a memory-mapped file
+ * in a shared directory. Each instance leases a slot, publishes its demand (the parallelism its running tasks want)
+ * and its throughput every second, and takes a max-min fair share of the host's processors. Leases not renewed in time
+ * are ignored and reused, so a crashed server frees its share on its own.
+ *
+ * <p>File layout: a magic number, then {@link #SLOTS} slots of (owner, lease expiry millis, demand, throughput).
+ * Every read and write of the file happens under an exclusive file lock.</p>
+ */
+public final class HostBudgetCoordinator {
+	private static final int MAGIC = 0x43484231;
+	private static final int SLOTS = 64;
+	private static final int HEADER_BYTES = 64;
+	private static final int SLOT_BYTES = 32;
+	private static final int OWNER = 0;
+	private static final int LEASE = 8;
+	private static final int DEMAND = 16;
+	private static final int THROUGHPUT = 24;
+	private static final long HEARTBEAT_MS = 1000L;
+	private static final long LEASE_MS = TimeUnit.SECONDS.toMillis(10);
+	private static final String FILE_NAME = "chunker-budget.dat";
+
+	private final File file;
+	private final double hostCpus;
+	private final IntSupplier demand;
+	private final LongSupplier throughput;
+	private final long owner = ThreadLocalRandom.current().nextLong(1L, Long.MAX_VALUE);
+	private final AsyncDelayedScheduler scheduler = new AsyncDelayedScheduler();
+	private FileChannel channel;
+	private MappedByteBuffer buffer;
+	private int slot = -1;
+	private volatile double factor = 1D;
+
+	/**
+	 * @param demand     parallelism wanted by the running tasks of this server
+	 * @param throughput chunks per second generated by this server, published for other instances and operators
+	 */
+	public HostBudgetCoordinator(IntSupplier demand, LongSupplier throughput) {
+		this.file = new File(PluginSettings.Tuning.HOST_BUDGET_DIRECTORY.getString(), FILE_NAME);
+		int configured = PluginSettings.Tuning.HOST_BUDGET_CPUS.getInt();
+		this.hostCpus = configured > 0 ? configured : PluginSettings.getAvailableProcessors();
+		this.demand = demand;
+		this.throughput = throughput;
+	}
+
+	/**
+	 * Maps the shared file and starts the heartbeat. Coordination stays off if the file cannot be mapped.
+	 */
+	public void start() {
+		try {
+			File parent = file.getParentFile();
+			if (parent != null && !parent.exists() && !parent.mkdirs()) {
+				throw new IOException("Failed to create " + parent);
+			}
+			channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0L, HEADER_BYTES + (long) SLOTS * SLOT_BYTES);
+			try (FileLock _ = channel.lock()) {
+				if (buffer.getInt(0) != MAGIC) {
+					for (int i = 0; i < HEADER_BYTES + SLOTS * SLOT_BYTES; i += 8) {
+						buffer.putLong(i, 0L);
+					}
+					buffer.putInt(0, MAGIC);
+				}
+			}
+		} catch (IOException e) {
+			exceptionMsg("Host budget coordination disabled, failed to map " + file.getPath() + ": " + e.getMessage());
+			e.printStackTrace();
+			return;
+		}
+		logPlain("Sharing a budget of " + (int) hostCpus + " processors with other Chunker instances through " + file.getPath());
+		scheduler.scheduleAtFixedRate(this::heartbeat, 0L, HEARTBEAT_MS, TimeUnit.MILLISECONDS, scheduler.isEnabledSupplier());
+	}
+
+	/**
+	 * Stops the heartbeat and gives the slot back at once instead of waiting for its lease to expire.
+	 */
+	public synchronized void stop() {
+		scheduler.setEnabled(false);
+		if (channel == null) return;
+		try {
+			try (FileLock _ = channel.lock()) {
+				if (slot >= 0 && buffer.getLong(offset(slot) + OWNER) == owner) {
+					buffer.putLong(offset(slot) + OWNER, 0L);
+					buffer.putLong(offset(slot) + DEMAND, 0L);
+				}
+			}
+			channel.close();
+		} catch (IOException e) {
+			exceptionMsg("Failed to release host budget slot: " + e.getMessage());
+			e.printStackTrace();
+		}
+		channel = null;
+		slot = -1;
+	}
+
+	/**
+	 * Scales a task's parallelism by this server's share of the host budget.
+	 */
+	public int scale(int budget) {
+		return Math.max(1, (int) Math.round(budget * factor));
+	}
+
+	private synchronized void heartbeat() {
+		if (channel == null) return;
+		try {
+			int wanted = Math.max(0, demand.getAsInt());
+			long now = System.currentTimeMillis();
+			double[] others = new double[SLOTS];
+			int otherCount = 0;
+			try (FileLock _ = channel.lock()) {
+				if (slot < 0 || buffer.getLong(offset(slot) + OWNER) != owner) {
+					slot = claimSlot(now);
+					if (slot < 0) {
+						factor = 1D;
+						return;
+					}
+				}
+				int base = offset(slot);
+				buffer.putLong(base + LEASE, now + LEASE_MS);
+				buffer.putLong(base + DEMAND, wanted);
+				buffer.putLong(base + THROUGHPUT, throughput.getAsLong());
+				for (int i = 0; i < SLOTS; i++) {
+					if (i == slot) continue;
+					int other = offset(i);
+					if (buffer.getLong(other + OWNER) == 0L || buffer.getLong(other + LEASE) < now) continue;
+					long otherDemand = buffer.getLong(other + DEMAND);
+					if (otherDemand > 0L) others[otherCount++] = otherDemand;
+				}
+			}
+			factor = wanted == 0 ? 1D : Math.min(1D, fairShare(wanted, Arrays.copyOf(others, otherCount)) / wanted);
+		} catch (Exception e) {
+			exceptionMsg("Exception in HostBudgetCoordinator: " + e.getMessage());
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Takes a free slot or one whose lease has expired. Called under the file lock.
+	 *
+	 * @return the slot, or -1 if every slot is leased
+	 */
+	private int claimSlot(long now) {
+		for (int i = 0; i < SLOTS; i++) {
+			int base = offset(i);
+			if (buffer.getLong(base + OWNER) == 0L || buffer.getLong(base + LEASE) < now) {
+				buffer.putLong(base + OWNER, owner);
+				buffer.putLong(base + LEASE, now + LEASE_MS);
+				return i;
+			}
+		}
+		exceptionMsg("All " + SLOTS + " host budget slots are leased; running without a share");
+		return -1;
+	}
+
+	/**
+	 * Max-min fair share: instances wanting less than an equal split keep what they want,
+	 * and the rest is split evenly between the others.
+	 */
+	private double fairShare(double wanted, double[] others) {
+		Arrays.sort(others);
+		double remaining = hostCpus;
+		int contenders = others.length + 1;
+		for (double other : others) {
+			double equal = remaining / contenders;
+			if (other >= equal || wanted <= equal) break;
+			remaining -= other;
+			contenders--;
+		}
+		return Math.min(wanted, remaining / contenders);
+	}
+
+	private static int offset(int slot) {
+		return HEADER_BYTES + slot * SLOT_BYTES;
+	}
+}
@@ -0,0 +1,292 @@
+package main;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static main.ConsoleColorUtils.*;
+
+/**
+ * Estimates the share of this process's processors that is really free on a shared Linux host. Other processes' demand
+ * is taken from the host's busy and stolen CPU time and from the load average, with this process's own CPU use
+ * subtracted, so a task that saturates an otherwise idle host does not throttle itself. The larger of the two estimates
+ * is used rather than their product, since both measure the same contention. CPU pressure stall information and the
+ * time the process's cgroup spent throttled by its quota are read as the share of time runnable work waited for a CPU,
+ * and the larger of the two scales down what is usable. The cgroup is resolved from {@code /proc/self/cgroup}. Tasks
+ * started with an {@code auto} parallelism scale their admission by {@link #factor()}. Files the host does not provide
+ * or that cannot be parsed are ignored, so elsewhere the factor stays 1.
+ */
+public final class HostLoadMonitor {
+	private static final long POLL_INTERVAL_MS = 5000L;
+	private static final Path LOADAVG = Path.of("/proc/loadavg");
+	private static final Path STAT = Path.of("/proc/stat");
+	private static final Path PRESSURE = Path.of("/proc/pressure/cpu");
+	private static final Path SELF_CGROUP = Path.of("/proc/self/cgroup");
+	private static final Path CGROUP_ROOT = Path.of("/sys/fs/cgroup");
+	private static final double SMOOTHING = 0.5D;
+
+	private final int processors = PluginSettings.getAvailableProcessors();
+	private final double minFactor;
+	private final AsyncDelayedScheduler scheduler = new AsyncDelayedScheduler();
+	private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+	private final Path cgroupV2;
+	private final Path cgroupV1;
+	private volatile double factor = 1D;
+	private long lastPollNanos;
+	private long lastProcessCpuNanos = -1L;
+	private long lastBusyTicks = -1L;
+	private long lastTotalTicks;
+	private long lastThrottledMicros = -1L;
+
+	public HostLoadMonitor() {
+		this.minFactor = Math.min(1D, Math.max(0.05D, PluginSettings.Tuning.HOST_LOAD_MIN_FACTOR.getDouble()));
+		this.cgroupV2 = cgroupDirectory(CGROUP_ROOT, "", "cpu.max");
+		this.cgroupV1 = cgroupDirectory(CGROUP_ROOT.resolve("cpu"), "cpu", "cpu.cfs_quota_us");
+	}
+
+	/**
+	 * Starts reading the host's load periodically.
+	 */
+	public void start() {
+		scheduler.scheduleAtFixedRate(this::poll, 0L, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS, scheduler.isEnabledSupplier());
+	}
+
+	/**
+	 * Stops reading the host's load.
+	 */
+	public void stop() {
+		scheduler.setEnabled(false);
+	}
+
+	/**
+	 * @return the fraction of this process's processors currently available, between the configured minimum and 1
+	 */
+	public double factor() {
+		return factor;
+	}
+
+	/**
+	 * Scales an auto parallelism budget by the current factor.
+	 */
+	public int scale(int budget) {
+		return Math.max(1, (int) Math.round(budget * factor));
+	}
+
+	private void poll() {
+		try {
+			long now = System.nanoTime();
+			long elapsedNanos = lastPollNanos == 0L ? 0L : now - lastPollNanos;
+			lastPollNanos = now;
+
+			double own = ownCpus(elapsedNanos);
+			HostStat stat = hostStat();
+			double load = loadAverage();
+			double throttled = throttledShare(elapsedNanos);
+			if (elapsedNanos == 0L || stat == null) return;
+
+			double others = Math.max(0D, Math.max(stat.busyCpus(), load) - own);
+			double stall = Math.max(pressureShare(), throttled);
+			double usable = Math.min(Math.min(processors, quotaCpus()), Math.max(0D, stat.onlineCpus() - others));
+			usable = Math.min(usable, processors * (1D - stall));
+
+			double next = Math.min(1D, Math.max(minFactor, usable / processors));
+			double previous = factor;
+			factor = previous + SMOOTHING * (next - previous);
+			if (Math.abs(factor - previous) >= 0.25D) {
+				logPlain(String.format("Host load: auto parallelism now at %.0f%% (other processes using %.1f cpus, this server %.1f, cpu stalled %.0f%%)",
+						factor * 100D, others, own, stall * 100D));
+			}
+		} catch (Exception e) {
+			exceptionMsg("Exception in HostLoadMonitor: " + e.getMessage());
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * @return processors this server kept busy since the last poll, or 0 when unavailable
+	 */
+	private double ownCpus(long elapsedNanos) {
+		if (!(os instanceof com.sun.management.OperatingSystemMXBean bean)) return 0D;
+		long cpu = bean.getProcessCpuTime();
+		double used = 0D;
+		if (cpu >= 0L && lastProcessCpuNanos >= 0L && elapsedNanos > 0L) {
+			used = (double) (cpu - lastProcessCpuNanos) / elapsedNanos;
+		}
+		lastProcessCpuNanos = cpu;
+		return Math.max(0D, used);
+	}
+
+	/**
+	 * @return the one-minute load average, or 0 when unavailable
+	 */
+	private static double loadAverage() {
+		String line = firstLine(LOADAVG);
+		if (line == null) return 0D;
+		int end = line.indexOf(' ');
+		double load = parseDouble(end < 0 ? line : line.substring(0, end));
+		return Double.isNaN(load) ? 0D : load;
+	}
+
+	/**
+	 * Reads the processors the host kept busy or had stolen by the hypervisor since the last poll.
+	 *
+	 * @return the host's usage, or null on the first poll or when unavailable
+	 */
+	private HostStat hostStat() {
+		List<String> lines;
+		try {
+			lines = Files.readAllLines(STAT, StandardCharsets.US_ASCII);
+		} catch (IOException | SecurityException e) {
+			return null;
+		}
+		if (lines.isEmpty() || !lines.getFirst().startsWith("cpu ")) return null;
+		int online = 0;
+		for (String line : lines) {
+			if (line.startsWith("cpu") && line.length() > 3 && Character.isDigit(line.charAt(3))) online++;
+		}
+		String[] fields = lines.getFirst().trim().split("\\s+");
+		if (fields.length < 9 || online == 0) return null;
+		long total = 0L;
+		long busy;
+		try {
+			// Fields after steal count guest time already included in user and nice.
+			for (int i = 1; i <= 8; i++) {
+				total += Long.parseLong(fields[i]);
+			}
+			busy = total - Long.parseLong(fields[4]) - Long.parseLong(fields[5]);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+		HostStat stat = null;
+		if (lastBusyTicks >= 0L && total > lastTotalTicks) {
+			stat = new HostStat(online, online * (double) (busy - lastBusyTicks) / (total - lastTotalTicks));
+		}
+		lastBusyTicks = busy;
+		lastTotalTicks = total;
+		return stat;
+	}
+
+	/**
+	 * @return the share of the last ten seconds some task stalled waiting for a CPU, or 0 when unavailable
+	 */
+	private double pressureShare() {
+		String line = firstLine(cgroupV2 != null && Files.isReadable(cgroupV2.resolve("cpu.pressure")) ? cgroupV2.resolve("cpu.pressure") : PRESSURE);
+		if (line == null || !line.startsWith("some")) return 0D;
+		int start = line.indexOf("avg10=");
+		if (start < 0) return 0D;
+		int end = line.indexOf(' ', start);
+		double percent = parseDouble(line.substring(start + 6, end < 0 ? line.length() : end));
+		return Double.isNaN(percent) ? 0D : Math.min(1D, Math.max(0D, percent / 100D));
+	}
+
+	/**
+	 * @return the share of wall time the cgroup spent throttled by its quota since the last poll, or 0 when unavailable
+	 */
+	private double throttledShare(long elapsedNanos) {
+		long throttled = -1L;
+		if (cgroupV2 != null) {
+			try {
+				for (String line : Files.readAllLines(cgroupV2.resolve("cpu.stat"), StandardCharsets.US_ASCII)) {
+					if (line.startsWith("throttled_usec ")) {
+						throttled = parseLong(line.substring(15));
+						break;
+					}
+				}
+			} catch (IOException | SecurityException e) {
+				throttled = -1L;
+			}
+		}
+		double share = 0D;
+		if (throttled >= 0L && lastThrottledMicros >= 0L && elapsedNanos > 0L) {
+			share = (double) (throttled - lastThrottledMicros) / TimeUnit.NANOSECONDS.toMicros(elapsedNanos);
+		}
+		lastThrottledMicros = throttled;
+		return Math.min(1D, Math.max(0D, share));
+	}
+
+	/**
+	 * @return the processors granted by the cgroup CPU quota, or the process's processors without a quota
+	 */
+	private double quotaCpus() {
+		if (cgroupV2 != null) {
+			String max = firstLine(cgroupV2.resolve("cpu.max"));
+			String[] parts = max == null ? new String[0] : max.trim().split("\\s+");
+			if (parts.length == 2 && !parts[0].equals("max")) {
+				double quota = parseDouble(parts[0]);
+				double period = parseDouble(parts[1]);
+				if (quota > 0D && period > 0D) return Math.max(1D, quota / period);
+			}
+			return processors;
+		}
+		if (cgroupV1 != null) {
+			String quota = firstLine(cgroupV1.resolve("cpu.cfs_quota_us"));
+			String period = firstLine(cgroupV1.resolve("cpu.cfs_period_us"));
+			long quotaMicros = quota == null ? -1L : parseLong(quota);
+			long periodMicros = period == null ? -1L : parseLong(period);
+			if (quotaMicros > 0L && periodMicros > 0L) return Math.max(1D, (double) quotaMicros / periodMicros);
+		}
+		return processors;
+	}
+
+	/**
+	 * Finds the directory of this process's cgroup from {@code /proc/self/cgroup}, falling back to the mount root when
+	 * the process sees its own cgroup as the root, as inside a container with a cgroup namespace.
+	 *
+	 * @param controller the v1 controller to match, or empty for the v2 unified hierarchy
+	 * @param probe      a file the directory must contain
+	 * @return the directory, or null when it has no {@code probe}
+	 */
+	private static Path cgroupDirectory(Path mount, String controller, String probe) {
+		List<String> lines;
+		try {
+			lines = Files.readAllLines(SELF_CGROUP, StandardCharsets.US_ASCII);
+		} catch (IOException | SecurityException e) {
+			lines = List.of();
+		}
+		for (String line : lines) {
+			String[] parts = line.split(":", 3);
+			if (parts.length != 3) continue;
+			boolean matches = controller.isEmpty()
+					? parts[0].equals("0") && parts[1].isEmpty()
+					: List.of(parts[1].split(",")).contains(controller);
+			if (!matches) continue;
+			String relative = parts[2].startsWith("/") ? parts[2].substring(1) : parts[2];
+			Path directory = mount.resolve(relative).normalize();
+			if (directory.startsWith(mount) && Files.isReadable(directory.resolve(probe))) return directory;
+		}
+		return Files.isReadable(mount.resolve(probe)) ? mount : null;
+	}
+
+	private static double parseDouble(String value) {
+		try {
+			return Double.parseDouble(value.trim());
+		} catch (NumberFormatException e) {
+			return Double.NaN;
+		}
+	}
+
+	private static long parseLong(String value) {
+		try {
+			return Long.parseLong(value.trim());
+		} catch (NumberFormatException e) {
+			return -1L;
+		}
+	}
+
+	private static String firstLine(Path path) {
+		try {
+			List<String> lines = Files.readAllLines(path, StandardCharsets.US_ASCII);
+			return lines.isEmpty() ? null : lines.getFirst();
+		} catch (IOException | SecurityException e) {
+			return null;
+		}
+	}
+
+	private record HostStat(int onlineCpus, double busyCpus) {
+	}
+}
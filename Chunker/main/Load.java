@@ -4,6 +4,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.StandardOpenOption;
+import java.util.List;
 
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -91,6 +92,31 @@ public class Load {
 		}
 	}
 
+	/**
+	 * Restores saved Folia lane positions if they were written for the same lane layout.
+	 *
+	 * @return true if every lane was restored
+	 */
+	public boolean lanes(JavaPlugin plugin, PreGenerationTask task, GenerationLane[] lanes) {
+		File laneFile = WorldRegistry.laneStateFile(plugin, task.worldName);
+		if (!laneFile.isFile()) return false;
+
+		try {
+			List<String> lines = Files.readAllLines(laneFile.toPath());
+			if (lines.size() != lanes.length + 1 || !lines.get(0).strip().equals(GenerationLane.layout(lanes))) {
+				logColor(YELLOW, "Lane layout for " + task.worldName + " changed since the last run");
+				return false;
+			}
+			for (int i = 0; i < lanes.length; i++) {
+				lanes[i].restore(lines.get(i + 1));
+			}
+			return true;
+		} catch (IOException | NumberFormatException e) {
+			e.printStackTrace();
+			exceptionMsg("Failed to load lane state for " + task.worldName + ": " + e.getMessage());
+			return false;
+		}
+	}
 
 	private static ParsedState parseState(String state) throws IOException {
 		long[] values = new long[9];
@@ -0,0 +1,121 @@
+package main;
+
+import org.bukkit.World;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static main.ConsoleColorUtils.*;
+
+/**
+ * Holds generation while another I/O-heavy job, such as a backup, runs. Pauses are keyed by reason so several holders can
+ * overlap, and apply to one world or to all of them. Registered as a Bukkit service:
+ * <pre>
+ * PauseController pauses = Bukkit.getServicesManager().load(PauseController.class);
+ * pauses.pause(null, "backup");
+ * ...
+ * pauses.resume(null, "backup");
+ * </pre>
+ * A configured lock file pauses every world for as long as it exists.
+ */
+public final class PauseController {
+	private static final String ALL_WORLDS = "*";
+	private static final String LOCK_FILE_REASON = "lock file";
+	private static final long LOCK_FILE_POLL_MS = 1000L;
+
+	private final ConcurrentHashMap<String, Set<String>> reasons = new ConcurrentHashMap<>();
+	private final AsyncDelayedScheduler scheduler = new AsyncDelayedScheduler();
+	private final File lockFile;
+
+	public PauseController(JavaPlugin plugin) {
+		String path = PluginSettings.Tuning.PAUSE_LOCK_FILE.getString().trim();
+		if (path.isEmpty()) {
+			lockFile = null;
+		} else {
+			File file = new File(path);
+			lockFile = file.isAbsolute() ? file : new File(plugin.getServer().getWorldContainer(), path);
+		}
+	}
+
+	/**
+	 * Starts watching the lock file, if one is configured.
+	 */
+	public void start() {
+		if (lockFile == null) return;
+		logPlain("Generation pauses while " + lockFile.getPath() + " exists");
+		scheduler.scheduleAtFixedRate(this::pollLockFile, 0L, LOCK_FILE_POLL_MS, TimeUnit.MILLISECONDS, scheduler.isEnabledSupplier());
+	}
+
+	/**
+	 * Stops watching the lock file.
+	 */
+	public void stop() {
+		scheduler.setEnabled(false);
+	}
+
+	/**
+	 * Holds generation in a world, or in every world when {@code world} is null, until the same reason is resumed.
+	 * In-flight chunks finish and the world is saved once they have drained.
+	 */
+	public void pause(World world, String reason) {
+		if (reasons.computeIfAbsent(key(world), _ -> ConcurrentHashMap.newKeySet()).add(reason)) {
+			logColor(YELLOW, "Generation paused in " + describe(world) + ": " + reason);
+		}
+	}
+
+	/**
+	 * Releases a pause taken with the same world and reason.
+	 */
+	public void resume(World world, String reason) {
+		Set<String> held = reasons.get(key(world));
+		if (held != null && held.remove(reason)) {
+			logColor(GREEN, "Generation resumed in " + describe(world) + ": " + reason);
+		}
+	}
+
+	/**
+	 * @return true if a pause holds the world, either its own or one for every world
+	 */
+	public boolean isPaused(World world) {
+		return held(ALL_WORLDS) || held(WorldRegistry.id(world));
+	}
+
+	/**
+	 * @return every reason currently holding the world
+	 */
+	public Set<String> reasons(World world) {
+		Set<String> result = new TreeSet<>();
+		for (Map.Entry<String, Set<String>> entry : reasons.entrySet()) {
+			if (entry.getKey().equals(ALL_WORLDS) || entry.getKey().equals(WorldRegistry.id(world))) {
+				result.addAll(entry.getValue());
+			}
+		}
+		return result;
+	}
+
+	private boolean held(String key) {
+		Set<String> held = reasons.get(key);
+		return held != null && !held.isEmpty();
+	}
+
+	private void pollLockFile() {
+		if (lockFile.exists()) {
+			pause(null, LOCK_FILE_REASON);
+		} else {
+			resume(null, LOCK_FILE_REASON);
+		}
+	}
+
+	private static String key(World world) {
+		return world == null ? ALL_WORLDS : WorldRegistry.id(world);
+	}
+
+	private static String describe(World world) {
+		return world == null ? "all worlds" : WorldRegistry.id(world);
+	}
+}
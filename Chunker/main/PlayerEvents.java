@@ -1,7 +1,6 @@
 package main;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.entity.Player;
@@ -9,8 +8,10 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
 
 import java.util.UUID;
 
@@ -23,10 +24,18 @@ public class PlayerEvents implements Listener {
 
 	private final Int2ObjectOpenHashMap<PreGenerationTask> tasks;
 	private final Object tasksLock;
-
-	public PlayerEvents(Int2ObjectOpenHashMap<PreGenerationTask> tasks, Object tasksLock) {
+	private final TrailPredictor trailPredictor;
+	private final ExplorationHeatmap heatmap;
+
+	/**
+	 * @param trailPredictor trail-ahead generation fed from player movement, or null when disabled
+	 * @param heatmap        region visit recorder, or null when disabled
+	 */
+	public PlayerEvents(Int2ObjectOpenHashMap<PreGenerationTask> tasks, Object tasksLock, TrailPredictor trailPredictor, ExplorationHeatmap heatmap) {
 		this.tasks = tasks;
 		this.tasksLock = tasksLock;
+		this.trailPredictor = trailPredictor;
+		this.heatmap = heatmap;
 	}
 
 	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -43,18 +52,16 @@ public class PlayerEvents implements Listener {
 			if (fromChunkX == toChunkX && fromChunkZ == toChunkZ) return;
 
 			Player player = event.getPlayer();
+			if (trailPredictor != null) {
+				trailPredictor.onChunkCrossed(player, to);
+			}
+			if (heatmap != null && (fromChunkX >> 5 != toChunkX >> 5 || fromChunkZ >> 5 != toChunkZ >> 5)) {
+				heatmap.visit(to.getWorld(), toChunkX >> 5, toChunkZ >> 5);
+			}
 			PreGenerationTask task = taskForWorld(player.getWorld());
 			if (task == null || !task.enabled) return;
 
-			long fromKey = MortonCode.encode(fromChunkX, fromChunkZ);
-			long toKey = MortonCode.encode(toChunkX, toChunkZ);
-			UUID playerId = player.getUniqueId();
-
-			synchronized (task.playerChunkLock) {
-				LongOpenHashSet set = getOrCreatePlayerChunks(task, playerId);
-				removeTrackedChunk(task, set, fromKey);
-				addTrackedChunk(task, set, toKey);
-			}
+			task.protection.update(player.getUniqueId(), toChunkX, toChunkZ, PlayerProtectionIndex.viewDistance(player));
 		} catch (Exception e) {
 			exceptionMsg("Exception in onPlayerMove: " + e.getMessage());
 			e.printStackTrace();
@@ -65,11 +72,12 @@ public class PlayerEvents implements Listener {
 	private void onPlayerQuit(PlayerQuitEvent event) {
 		try {
 			UUID playerId = event.getPlayer().getUniqueId();
+			if (trailPredictor != null) {
+				trailPredictor.forget(playerId);
+			}
 			PreGenerationTask[] snapshot = taskSnapshot();
 			for (PreGenerationTask task : snapshot) {
-				synchronized (task.playerChunkLock) {
-					removePlayerFromTask(task, playerId);
-				}
+				task.protection.remove(playerId);
 			}
 		} catch (Exception e) {
 			exceptionMsg("Exception in onPlayerQuit: " + e.getMessage());
@@ -81,84 +89,79 @@ public class PlayerEvents implements Listener {
 	private void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
 		try {
 			Player player = event.getPlayer();
-			World newWorld = player.getWorld();
-			Location location = player.getLocation();
-			UUID playerId = player.getUniqueId();
-			long toKey = MortonCode.encode(location.getBlockX() >> 4, location.getBlockZ() >> 4);
-
-			PreGenerationTask[] snapshot = taskSnapshot();
-			for (PreGenerationTask task : snapshot) {
-				synchronized (task.playerChunkLock) {
-					removePlayerFromTask(task, playerId);
-
-					if (task.enabled && task.world.equals(newWorld)) {
-						LongOpenHashSet set = getOrCreatePlayerChunks(task, playerId);
-						addTrackedChunk(task, set, toKey);
-					}
-				}
+			if (trailPredictor != null) {
+				trailPredictor.forget(player.getUniqueId());
 			}
+			protect(player, player.getLocation());
 		} catch (Exception e) {
 			exceptionMsg("Exception in onPlayerChangedWorld: " + e.getMessage());
 			e.printStackTrace();
 		}
 	}
 
-	private PreGenerationTask taskForWorld(World world) {
-		int worldId = WorldIdManager.getWorldId(world);
-		synchronized (tasksLock) {
-			return tasks.get(worldId);
+	@EventHandler(priority = EventPriority.MONITOR)
+	private void onPlayerJoin(PlayerJoinEvent event) {
+		try {
+			Player player = event.getPlayer();
+			protect(player, player.getLocation());
+		} catch (Exception e) {
+			exceptionMsg("Exception in onPlayerJoin: " + e.getMessage());
+			e.printStackTrace();
 		}
 	}
 
-	private PreGenerationTask[] taskSnapshot() {
-		synchronized (tasksLock) {
-			return tasks.values().toArray(new PreGenerationTask[0]);
+	/**
+	 * Moves the protection zone with teleports, which fire no move event.
+	 */
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	private void onPlayerTeleport(PlayerTeleportEvent event) {
+		try {
+			Location to = event.getTo();
+			if (to == null || to.getWorld() == null) return;
+			protect(event.getPlayer(), to);
+		} catch (Exception e) {
+			exceptionMsg("Exception in onPlayerTeleport: " + e.getMessage());
+			e.printStackTrace();
 		}
 	}
 
-	private static LongOpenHashSet getOrCreatePlayerChunks(PreGenerationTask task, UUID playerId) {
-		LongOpenHashSet set = task.playerChunkMap.get(playerId);
-		if (set == null) {
-			set = new LongOpenHashSet(4);
-			task.playerChunkMap.put(playerId, set);
+	/**
+	 * Protects the chunks around a player's location in the task for its world and drops the player from every other task.
+	 */
+	private void protect(Player player, Location location) {
+		World world = location.getWorld();
+		UUID playerId = player.getUniqueId();
+		int viewDistance = PlayerProtectionIndex.viewDistance(player);
+		PreGenerationTask[] snapshot = taskSnapshot();
+		for (PreGenerationTask task : snapshot) {
+			if (task.enabled && task.world.equals(world)) {
+				task.protection.update(playerId, location.getBlockX() >> 4, location.getBlockZ() >> 4, viewDistance);
+			} else {
+				task.protection.remove(playerId);
+			}
 		}
-		return set;
 	}
 
-	private static void addTrackedChunk(PreGenerationTask task, LongOpenHashSet set, long key) {
-		if (!set.add(key)) return;
-
-		int count = task.playerChunkRefCount.get(key);
-		if (count == 0) {
-			task.playerLoadedChunks.add(key);
-			task.playerChunkRefCount.put(key, 1);
-			return;
+	private PreGenerationTask taskForWorld(World world) {
+		int worldId = WorldIdManager.idOf(world);
+		synchronized (tasksLock) {
+			return tasks.get(worldId);
 		}
-		task.playerChunkRefCount.put(key, count + 1);
 	}
 
-	private static void removeTrackedChunk(PreGenerationTask task, LongOpenHashSet set, long key) {
-		if (!set.remove(key)) return;
-
-		decrementTrackedChunk(task, key);
-	}
-
-	private static void removePlayerFromTask(PreGenerationTask task, UUID playerId) {
-		LongOpenHashSet set = task.playerChunkMap.remove(playerId);
-		if (set == null) return;
-
-		for (long key : set) {
-			decrementTrackedChunk(task, key);
+	private PreGenerationTask[] taskSnapshot() {
+		synchronized (tasksLock) {
+			return tasks.values().toArray(new PreGenerationTask[0]);
 		}
 	}
 
-	private static void decrementTrackedChunk(PreGenerationTask task, long key) {
-		int count = task.playerChunkRefCount.get(key) - 1;
-		if (count <= 0) {
-			task.playerChunkRefCount.remove(key);
-			task.playerLoadedChunks.remove(key);
-			return;
+	/**
+	 * Protects the players already in a task's world when the task starts.
+	 */
+	public void track(PreGenerationTask task) {
+		for (Player player : task.world.getPlayers()) {
+			Location location = player.getLocation();
+			task.protection.update(player.getUniqueId(), location.getBlockX() >> 4, location.getBlockZ() >> 4, PlayerProtectionIndex.viewDistance(player));
 		}
-		task.playerChunkRefCount.put(key, count);
 	}
 }
@@ -0,0 +1,192 @@
+package main;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chunks a task must not unload: every chunk within a player's view distance, and new chunks pinned on first load.
+ * Each player is kept as one rectangle; lookups use an immutable snapshot sorted by minimum x, rebuilt only after a change.
+ * Pinned chunks live in lock-striped sets so concurrent chunk loads rarely contend.
+ */
+public final class PlayerProtectionIndex {
+	private static final int STRIPES = 16;
+	private static final int VIEW_MARGIN = 1;
+	private static volatile boolean playerViewDistance = true;
+
+	private final ConcurrentHashMap<UUID, Zone> zones = new ConcurrentHashMap<>();
+	private final LongOpenHashSet[] pinned = new LongOpenHashSet[STRIPES];
+	private volatile Snapshot snapshot = Snapshot.EMPTY;
+	private volatile boolean dirty;
+
+	public PlayerProtectionIndex() {
+		for (int i = 0; i < STRIPES; i++) {
+			pinned[i] = new LongOpenHashSet();
+		}
+	}
+
+	/**
+	 * Protects the square of chunks a player can see around the given chunk.
+	 */
+	public void update(UUID playerId, int chunkX, int chunkZ, int viewDistance) {
+		int radius = Math.max(0, viewDistance) + VIEW_MARGIN;
+		Zone zone = new Zone(chunkX - radius, chunkX + radius, chunkZ - radius, chunkZ + radius);
+		if (!zone.equals(zones.put(playerId, zone))) {
+			dirty = true;
+		}
+	}
+
+	public void remove(UUID playerId) {
+		if (zones.remove(playerId) != null) {
+			dirty = true;
+		}
+	}
+
+	/**
+	 * @return true if the chunk lies inside any player's view distance
+	 */
+	public boolean isProtected(int chunkX, int chunkZ) {
+		return currentSnapshot().contains(chunkX, chunkZ);
+	}
+
+	/**
+	 * @return true if the chunk lies within {@code distance} chunks of any player
+	 */
+	public boolean isNear(int chunkX, int chunkZ, int distance) {
+		return currentSnapshot().near(chunkX, chunkZ, distance);
+	}
+
+	/**
+	 * Pins a newly generated chunk so later loads of it are left alone.
+	 */
+	public void pin(long key) {
+		LongOpenHashSet stripe = pinned[stripe(key)];
+		synchronized (stripe) {
+			stripe.add(key);
+		}
+	}
+
+	public boolean isPinned(long key) {
+		LongOpenHashSet stripe = pinned[stripe(key)];
+		synchronized (stripe) {
+			return stripe.contains(key);
+		}
+	}
+
+	/**
+	 * Drops every zone and pinned chunk.
+	 */
+	public void clear() {
+		zones.clear();
+		dirty = true;
+		for (LongOpenHashSet stripe : pinned) {
+			synchronized (stripe) {
+				stripe.clear();
+			}
+		}
+	}
+
+	/**
+	 * Uses the server-side view distance of the player where the API offers it, the world's otherwise.
+	 */
+	public static int viewDistance(Player player) {
+		if (playerViewDistance) {
+			try {
+				return player.getViewDistance();
+			} catch (NoSuchMethodError | UnsupportedOperationException e) {
+				playerViewDistance = false;
+			}
+		}
+		try {
+			return player.getWorld().getViewDistance();
+		} catch (NoSuchMethodError e) {
+			return Bukkit.getViewDistance();
+		}
+	}
+
+	private Snapshot currentSnapshot() {
+		if (!dirty) return snapshot;
+		synchronized (this) {
+			if (dirty) {
+				dirty = false;
+				snapshot = Snapshot.of(zones.values().iterator(), zones.size());
+			}
+			return snapshot;
+		}
+	}
+
+	private static int stripe(long key) {
+		return (int) ((key ^ (key >>> 32)) * 0x9E3779B9L) >>> 28;
+	}
+
+	private record Zone(int minX, int maxX, int minZ, int maxZ) {
+	}
+
+	/**
+	 * Zones sorted by minimum x with a running maximum of maximum x,
+	 * so a lookup binary searches the last candidate and walks back only while zones can still reach the chunk.
+	 */
+	private static final class Snapshot {
+		static final Snapshot EMPTY = new Snapshot(new Zone[0]);
+
+		private final Zone[] zones;
+		private final int[] reachX;
+
+		private Snapshot(Zone[] zones) {
+			this.zones = zones;
+			this.reachX = new int[zones.length];
+			int reach = Integer.MIN_VALUE;
+			for (int i = 0; i < zones.length; i++) {
+				reach = Math.max(reach, zones[i].maxX);
+				reachX[i] = reach;
+			}
+		}
+
+		static Snapshot of(Iterator<Zone> source, int expected) {
+			Zone[] sorted = new Zone[expected];
+			int size = 0;
+			while (source.hasNext()) {
+				if (size == sorted.length) sorted = Arrays.copyOf(sorted, size * 2 + 1);
+				sorted[size++] = source.next();
+			}
+			if (size == 0) return EMPTY;
+			sorted = Arrays.copyOf(sorted, size);
+			Arrays.sort(sorted, (a, b) -> Integer.compare(a.minX, b.minX));
+			return new Snapshot(sorted);
+		}
+
+		boolean contains(int chunkX, int chunkZ) {
+			int low = 0;
+			int high = zones.length - 1;
+			int last = -1;
+			while (low <= high) {
+				int mid = (low + high) >>> 1;
+				if (zones[mid].minX <= chunkX) {
+					last = mid;
+					low = mid + 1;
+				} else {
+					high = mid - 1;
+				}
+			}
+			for (int i = last; i >= 0 && reachX[i] >= chunkX; i--) {
+				Zone zone = zones[i];
+				if (zone.maxX >= chunkX && chunkZ >= zone.minZ && chunkZ <= zone.maxZ) return true;
+			}
+			return false;
+		}
+
+		boolean near(int chunkX, int chunkZ, int distance) {
+			for (Zone zone : zones) {
+				int centerX = (zone.minX + zone.maxX) >> 1;
+				int centerZ = (zone.minZ + zone.maxZ) >> 1;
+				if (Math.abs(chunkX - centerX) <= distance && Math.abs(chunkZ - centerZ) <= distance) return true;
+			}
+			return false;
+		}
+	}
+}
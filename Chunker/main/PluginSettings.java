@@ -67,6 +67,109 @@ public class PluginSettings {
 		}
 	}
 
+	/**
+	 * Represents generation tuning values stored next to the game rules in optimizations.yml.
+	 */
+	public enum Tuning {
+		MAX_CHUNK_ATTEMPTS("generation.max_chunk_attempts", 3),
+		STUCK_CHUNK_TIMEOUT_SECONDS("watchdog.stuck_chunk_timeout_seconds", 120),
+		ABANDON_STUCK_CHUNKS("watchdog.abandon_stuck_chunks", false),
+		THREAD_DUMP_THRESHOLD("watchdog.thread_dump_threshold", 16),
+		RETENTION_ENABLED("retention.enabled", false),
+		RETENTION_MIN_CHUNKS("retention.min_chunks", 256),
+		RETENTION_MAX_CHUNKS("retention.max_chunks", 4096),
+		RETENTION_RELEASE_BATCH("retention.release_batch", 32),
+		RETENTION_MIN_FREE_HEAP_PERCENT("retention.min_free_heap_percent", 15),
+		FOLIA_LANES_ENABLED("folia.lanes_enabled", true),
+		FOLIA_LANE_COUNT("folia.lane_count", 0),
+		FOLIA_LANE_IN_FLIGHT("folia.lane_in_flight", 0),
+		BUKKIT_MIN_TICK_BUDGET_MS("bukkit.min_tick_budget_ms", 1.0),
+		BUKKIT_MAX_TICK_BUDGET_MS("bukkit.max_tick_budget_ms", 25.0),
+		TILES_ENABLED("tiles.enabled", false),
+		TILE_SIZE("tiles.size", 8),
+		COEXISTENCE_ENABLED("coexistence.enabled", false),
+		COEXISTENCE_EXCLUSION_CHUNKS("coexistence.exclusion_distance_chunks", 16),
+		COEXISTENCE_RESERVED_TICK_MS("coexistence.reserved_tick_ms", 15.0),
+		COEXISTENCE_MAX_CHUNKS_PER_TICK("coexistence.max_chunks_per_tick", 4),
+		TRAIL_ENABLED("trail.enabled", false),
+		TRAIL_MIN_SPEED("trail.min_speed_blocks_per_second", 15.0),
+		TRAIL_LOOKAHEAD_SECONDS("trail.lookahead_seconds", 4.0),
+		TRAIL_CONE_DEGREES("trail.cone_degrees", 30.0),
+		TRAIL_MAX_PER_PLAYER("trail.max_in_flight_per_player", 16),
+		TRAIL_MAX_GLOBAL("trail.max_in_flight", 64),
+		HEATMAP_ENABLED("heatmap.enabled", true),
+		HEATMAP_HALF_LIFE_DAYS("heatmap.half_life_days", 14.0),
+		HEATMAP_ORDER_RINGS("heatmap.order_rings", false),
+		DESTINATION_ENABLED("destination.enabled", false),
+		DESTINATION_RADIUS_CHUNKS("destination.radius_chunks", 4),
+		DESTINATION_MIN_TELEPORT_BLOCKS("destination.min_teleport_blocks", 256.0),
+		DESTINATION_MAX_IN_FLIGHT("destination.max_in_flight", 64),
+		DESTINATION_POOL_ENABLED("destination_pool.enabled", false),
+		DESTINATION_POOL_WORLDS("destination_pool.worlds", "minecraft:overworld"),
+		DESTINATION_POOL_SIZE("destination_pool.size", 16),
+		DESTINATION_POOL_RADIUS_CHUNKS("destination_pool.radius_chunks", 3),
+		DESTINATION_POOL_MIN_DISTANCE("destination_pool.min_distance_blocks", 1000),
+		DESTINATION_POOL_MAX_DISTANCE("destination_pool.max_distance_blocks", 5000),
+		WARM_SET_ENABLED("warm_set.enabled", false),
+		WARM_SET_SIZE("warm_set.size", 256),
+		WARM_SET_MIN_INHABITED_TICKS("warm_set.min_inhabited_ticks", 1200),
+		WARM_SET_MAX_IN_FLIGHT("warm_set.max_in_flight", 16),
+		WARM_SET_HOLD_AFTER_JOIN_SECONDS("warm_set.hold_after_join_seconds", 60),
+		TURBO_ENABLED("turbo.enabled", false),
+		TURBO_VIEW_DISTANCE("turbo.view_distance", 2),
+		TURBO_SIMULATION_DISTANCE("turbo.simulation_distance", 2),
+		TURBO_SUSPEND_AUTOSAVE("turbo.suspend_autosave", true),
+		TURBO_PAUSE_SPAWNING("turbo.pause_spawning", true),
+		SAVE_PACING_ENABLED("save_pacing.enabled", false),
+		SAVE_PACING_REGIONS_PER_SAVE("save_pacing.regions_per_save", 4),
+		SAVE_PACING_THROTTLE_DIVISOR("save_pacing.throttle_divisor", 4),
+		UNLOAD_SWEEP_CHUNKS_PER_TICK("unload_sweep.chunks_per_tick", 512),
+		PAUSE_LOCK_FILE("pause.lock_file", ""),
+		HOST_LOAD_ENABLED("host_load.enabled", false),
+		HOST_LOAD_MIN_FACTOR("host_load.min_factor", 0.25),
+		HOST_BUDGET_ENABLED("host_budget.enabled", false),
+		HOST_BUDGET_DIRECTORY("host_budget.directory", "/dev/shm/chunker"),
+		HOST_BUDGET_CPUS("host_budget.cpus", 0),
+		CHUNK_SYSTEM_ENABLED("chunk_system.enabled", false),
+		CHUNK_SYSTEM_TARGET_STATUS("chunk_system.target_status", "spawn");
+
+		private final String key;
+		private final Object defaultValue;
+		private static final Tuning[] CACHED_VALUES = values();
+
+		Tuning(String key, Object defaultValue) {
+			this.key = key;
+			this.defaultValue = defaultValue;
+		}
+
+		public String getKey() { return key; }
+
+		public int getInt() {
+			int fallback = ((Number) defaultValue).intValue();
+			return optimizationsConfig == null ? fallback : optimizationsConfig.getInt(key, fallback);
+		}
+
+		public long getLong() {
+			long fallback = ((Number) defaultValue).longValue();
+			return optimizationsConfig == null ? fallback : optimizationsConfig.getLong(key, fallback);
+		}
+
+		public double getDouble() {
+			double fallback = ((Number) defaultValue).doubleValue();
+			return optimizationsConfig == null ? fallback : optimizationsConfig.getDouble(key, fallback);
+		}
+
+		public boolean getBoolean() {
+			boolean fallback = (Boolean) defaultValue;
+			return optimizationsConfig == null ? fallback : optimizationsConfig.getBoolean(key, fallback);
+		}
+
+		public String getString() {
+			String fallback = String.valueOf(defaultValue);
+			return optimizationsConfig == null ? fallback : optimizationsConfig.getString(key, fallback);
+		}
+	}
+
 	/**
 	 * Represents world configuration settings.
 	 */
@@ -165,6 +268,7 @@ public class PluginSettings {
 	private void createEmptyOptimizationsConfig() {
 		optimizationsConfig = new YamlConfiguration();
 		populateGameRuleDefaults();
+		populateTuningDefaults();
 		saveConfig(optimizationsConfig, "optimizations.yml");
 	}
 
@@ -177,6 +281,7 @@ public class PluginSettings {
 	private void loadOptimizationsConfig() {
 		optimizationsConfig = loadYamlConfig(optimizationsLoader);
 		populateGameRuleDefaults();
+		populateTuningDefaults();
 		optimizationsConfig.options().copyDefaults(true);
 		saveConfig(optimizationsConfig, "optimizations.yml");
 	}
@@ -203,6 +308,12 @@ public class PluginSettings {
 		}
 	}
 
+	private void populateTuningDefaults() {
+		for (Tuning tuning : Tuning.CACHED_VALUES) {
+			optimizationsConfig.addDefault(tuning.key, tuning.defaultValue);
+		}
+	}
+
 	private void populateWorldDefaults() {
 		WorldSettings defaults = WorldSettings.getDefaults();
 
@@ -1,11 +1,10 @@
 package main;
 
 import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
-import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
 import org.bukkit.World;
 
-import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -22,6 +21,7 @@ public class PreGenerationTask {
 	public String worldName;
 	public World world;
 	public int parallelTasksMultiplier;
+	public boolean autoParallelism;
 	public int timeValue;
 	public int printTime;
 	public long chunksPerSec;
@@ -40,11 +40,7 @@ public class PreGenerationTask {
 	public long timerStart;
 	public long timerEnd;
 	public final RegionChunkIterator chunkIterator = new RegionChunkIterator();
-	public final Object playerChunkLock = new Object();
-	public final Object2ObjectOpenHashMap<UUID, LongOpenHashSet> playerChunkMap = new Object2ObjectOpenHashMap<>();
-	public final Long2IntOpenHashMap playerChunkRefCount = new Long2IntOpenHashMap();
-	public final LongOpenHashSet playerLoadedChunks = new LongOpenHashSet();
-	public final LongOpenHashSet pinnedNewChunks = new LongOpenHashSet();
+	public final PlayerProtectionIndex protection = new PlayerProtectionIndex();
 	public AsyncDelayedScheduler printScheduler;
 	public AsyncDelayedScheduler taskSubmitScheduler;
 	public AsyncDelayedScheduler cleanupScheduler;
@@ -52,4 +48,33 @@ public class PreGenerationTask {
 	public int centerBlockZ;
 	public boolean stateHasCenter;
 	public volatile boolean stopAfterCurrentRegion;
+	public boolean replay;
+	public ChunkLedger failureLedger;
+	public ChunkLedger pendingLedger;
+	public final Object requeueLock = new Object();
+	public final LongArrayFIFOQueue requeuedChunks = new LongArrayFIFOQueue();
+	public final LongArrayFIFOQueue deferredChunks = new LongArrayFIFOQueue();
+	public final Long2IntOpenHashMap chunkAttempts = new Long2IntOpenHashMap();
+	public final LongAdder failedChunks = new LongAdder();
+	public final ChunkWatchdog watchdog = new ChunkWatchdog();
+	public final LongAdder stuckChunks = new LongAdder();
+	public AsyncDelayedScheduler watchdogScheduler;
+	public RetentionWindow retention;
+	public UnloadDispatcher unloadDispatcher;
+	public SavePacer savePacer;
+	public StatusChunkLoader statusLoader;
+	public long pauseStartedNanos;
+	public boolean pauseFlushed;
+	public final LongAdder pausedNanos = new LongAdder();
+	public GenerationLane[] lanes;
+	public int tileSize;
+	public long tileCredit;
+	public final AtomicInteger tileChunksInFlight = new AtomicInteger();
+	public final Long2ObjectOpenHashMap<RegionChunkIterator.Tile> tiles = new Long2ObjectOpenHashMap<>();
+	public long processedAtStart;
+	public boolean hasChunkBounds;
+	public int minChunkX;
+	public int maxChunkX;
+	public int minChunkZ;
+	public int maxChunkZ;
 }
@@ -1,6 +1,11 @@
 package main;
 
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2FloatOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
@@ -8,12 +13,21 @@ import org.bukkit.World;
 import org.bukkit.command.CommandSender;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
 
 import static main.ConsoleColorUtils.*;
 
@@ -27,8 +41,27 @@ public class PreGenerator implements Listener {
 	private final Print print;
 	private final Load load;
 	private final Save save;
+	private final ExplorationHeatmap heatmap;
+	private final TrailPredictor trailPredictor;
+	private final DestinationPregen destinations;
+	private final DestinationPool destinationPool;
+	private final WarmSet warmSet;
+	private final PauseController pauses;
+	private final HostLoadMonitor hostLoad;
+	private final HostBudgetCoordinator hostBudget;
 	private final Int2ObjectOpenHashMap<PreGenerationTask> tasks = new Int2ObjectOpenHashMap<>();
 	private final Object tasksLock = new Object();
+	private final ChunkLoadListener chunkLoadListener = new ChunkLoadListener();
+	private volatile PreGenerationTask[] activeTasks = new PreGenerationTask[0];
+	private boolean chunkLoadListenerRegistered;
+	private TickSlackListener tickSlackListener;
+	private volatile CoexistenceThrottle coexistence;
+	private ScheduledTask coexistenceFoliaTimer;
+	private volatile boolean shuttingDown;
+	private final LongAdder sessionChunks = new LongAdder();
+	private long throughputChunks;
+	private long throughputNanos;
+	private org.bukkit.scheduler.BukkitTask coexistenceBukkitTimer;
 
 	private static final String ENABLED_WARNING_MESSAGE = "pre-generator is already enabled.";
 	private static final String DISABLED_WARNING_MESSAGE = "pre-generator is already disabled.";
@@ -38,6 +71,9 @@ public class PreGenerator implements Listener {
 	private static final boolean IS_PAPER = detectPaper();
 	private static final boolean REQUIRES_CHUNK_SAFETY = ServerVersion.getInstance().requiresChunkSafety();
 	private static final int SAFETY_IN_FLIGHT_WINDOW = 16;
+	private static final long WATCHDOG_INTERVAL_MS = 10_000L;
+	private static final long THREAD_DUMP_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(5);
+	private static final int MAX_DEFERRED_PER_PICK = 64;
 
 	/**
 	 * Creates a new pre-generator instance and registers player listeners.
@@ -50,11 +86,92 @@ public class PreGenerator implements Listener {
 		if (IS_PAPER && REQUIRES_CHUNK_SAFETY) {
 			logPlain("Server version " + ServerVersion.getInstance().getVersionString() + " detected, using chunk safety measures");
 		}
-		this.playerEvents = new PlayerEvents(tasks, tasksLock);
+		if (IS_PAPER && PluginSettings.Tuning.TRAIL_ENABLED.getBoolean()) {
+			trailPredictor = new TrailPredictor(plugin, IS_FOLIA);
+			trailPredictor.start();
+			logPlain("Trail-ahead generation enabled for fast-moving players");
+		} else {
+			trailPredictor = null;
+		}
+		if (PluginSettings.Tuning.HEATMAP_ENABLED.getBoolean()) {
+			heatmap = new ExplorationHeatmap(plugin);
+			heatmap.start();
+		} else {
+			heatmap = null;
+		}
+		this.playerEvents = new PlayerEvents(tasks, tasksLock, trailPredictor, heatmap);
+		if (IS_PAPER && PluginSettings.Tuning.DESTINATION_ENABLED.getBoolean()) {
+			destinations = new DestinationPregen(plugin, IS_FOLIA, this::coveredByTask);
+			destinations.start();
+			plugin.getServer().getPluginManager().registerEvents(destinations, plugin);
+			logPlain("Portal and teleport destination generation enabled");
+		} else {
+			destinations = null;
+		}
+		if (IS_PAPER && PluginSettings.Tuning.DESTINATION_POOL_ENABLED.getBoolean()) {
+			destinationPool = new DestinationPool(plugin, IS_FOLIA);
+			destinationPool.start();
+			plugin.getServer().getServicesManager().register(DestinationPool.class, destinationPool, plugin, ServicePriority.Normal);
+			logPlain("Random-teleport destination pool enabled");
+		} else {
+			destinationPool = null;
+		}
+		if (PluginSettings.Tuning.HOST_LOAD_ENABLED.getBoolean()) {
+			hostLoad = new HostLoadMonitor();
+			hostLoad.start();
+		} else {
+			hostLoad = null;
+		}
+		if (PluginSettings.Tuning.HOST_BUDGET_ENABLED.getBoolean()) {
+			hostBudget = new HostBudgetCoordinator(this::demand, this::throughput);
+			hostBudget.start();
+		} else {
+			hostBudget = null;
+		}
+		this.pauses = new PauseController(plugin);
+		pauses.start();
+		plugin.getServer().getServicesManager().register(PauseController.class, pauses, plugin, ServicePriority.Normal);
+		if (IS_PAPER && PluginSettings.Tuning.WARM_SET_ENABLED.getBoolean()) {
+			warmSet = new WarmSet(plugin, IS_FOLIA);
+			warmSet.start();
+		} else {
+			warmSet = null;
+		}
 		this.load = new Load();
 		this.save = new Save();
 		this.print = new Print();
 		plugin.getServer().getPluginManager().registerEvents(playerEvents, plugin);
+		for (World world : plugin.getServer().getWorlds()) {
+			WorldIdManager.cache(world);
+		}
+	}
+
+	/**
+	 * Stops every running task, saving its state, then stops the background services and writes what they hold in memory.
+	 * Called when the plugin is disabled.
+	 */
+	public void shutdown() {
+		shuttingDown = true;
+		PreGenerationTask[] running;
+		synchronized (tasksLock) {
+			running = tasks.values().toArray(new PreGenerationTask[0]);
+		}
+		for (PreGenerationTask task : running) {
+			try {
+				terminate(task);
+			} catch (Exception e) {
+				exceptionMsg("Exception stopping " + task.worldName + ": " + e.getMessage());
+				e.printStackTrace();
+			}
+		}
+		if (trailPredictor != null) trailPredictor.stop();
+		if (destinations != null) destinations.stop();
+		if (destinationPool != null) destinationPool.stop();
+		if (heatmap != null) heatmap.stop();
+		if (warmSet != null) warmSet.stop();
+		if (hostLoad != null) hostLoad.stop();
+		if (hostBudget != null) hostBudget.stop();
+		pauses.stop();
 	}
 
 	/**
@@ -71,31 +188,29 @@ public class PreGenerator implements Listener {
 			long radius,
 			long targetSideChunks,
 			boolean forceChunkSafety) {
-		int worldId = WorldIdManager.getWorldId(world);
-		String worldName = WorldRegistry.id(world);
-
-		PreGenerationTask task = new PreGenerationTask();
-		task.parallelTasksMultiplier = parallelTasksMultiplier;
-		task.timeUnit = timeUnit;
-		task.timeValue = timeValue;
-		task.printTime = printTime;
-		task.world = world;
-		task.worldName = worldName;
-		task.radius = radius;
-		task.targetSideChunks = targetSideChunks;
-		task.forceChunkSafety = forceChunkSafety;
-		task.enabled = true;
-		task.worldId = worldId;
-		task.stopAfterCurrentRegion = false;
-		task.taskQueueTimer = PluginSettings.getTaskQueueTimer(world);
+		return enable(sender, parallelTasksMultiplier, false, timeUnit, timeValue, printTime, world, radius, targetSideChunks, forceChunkSafety);
+	}
 
-		synchronized (tasksLock) {
-			if (tasks.containsKey(worldId)) {
-				colorMessage(sender, YELLOW, worldName + " " + ENABLED_WARNING_MESSAGE);
-				return false;
-			}
-			tasks.put(worldId, task);
-		}
+	/**
+	 * Starts a pre-generation task for the given world.
+	 *
+	 * @param autoParallelism whether the multiplier was derived automatically and may be scaled down by host load
+	 * @return true if the task was created, false if it was already running
+	 */
+	public boolean enable(CommandSender sender,
+			int parallelTasksMultiplier,
+			boolean autoParallelism,
+			char timeUnit,
+			int timeValue,
+			int printTime,
+			World world,
+			long radius,
+			long targetSideChunks,
+			boolean forceChunkSafety) {
+		PreGenerationTask task = createTask(parallelTasksMultiplier, timeUnit, timeValue, printTime, world, radius, targetSideChunks, forceChunkSafety);
+		task.autoParallelism = autoParallelism;
+		String worldName = task.worldName;
+		if (!registerTask(sender, task)) return false;
 
 		Location currentCenter = resolveCenterLocation(world);
 		int currentCenterBlockX = currentCenter.getBlockX();
@@ -123,9 +238,16 @@ public class PreGenerator implements Listener {
 		if (loaded && task.stateHasCenter) {
 			applyTargetBounds(task, Math.floorDiv(task.centerBlockX, 16), Math.floorDiv(task.centerBlockZ, 16));
 		}
+		restorePendingChunks(task, loaded && task.totalChunksProcessed.sum() > 0L);
+		setupLanes(task);
+		setupHeatOrder(task);
+		setupSavePacing(task);
+		setupStatusLoading(task);
 
 		initializeSchedulers(task);
+		playerEvents.track(task);
 		startCleanupScheduler(task);
+		startWatchdogScheduler(task);
 
 		if (task.totalChunksProcessed.sum() >= radius) {
 			colorMessage(sender, YELLOW, worldName + " " + RADIUS_EXCEEDED_MESSAGE);
@@ -138,22 +260,262 @@ public class PreGenerator implements Listener {
 			colorMessage(sender, GOLD, "chunk safety forced for " + worldName + "; generation will be more thorough but slower.");
 		}
 
+		task.processedAtStart = task.totalChunksProcessed.sum();
+		startGeneration(task);
+		print.start(task);
+		return true;
+	}
+
+	/**
+	 * Starts a replay task that feeds only the chunks recorded in the world's failure ledger through the normal pipeline.
+	 *
+	 * @return true if the task was created, false if it was already running or nothing needs replaying
+	 */
+	public boolean replay(CommandSender sender,
+			int parallelTasksMultiplier,
+			char timeUnit,
+			int timeValue,
+			int printTime,
+			World world) {
+		PreGenerationTask task = createTask(parallelTasksMultiplier, timeUnit, timeValue, printTime, world, 0L, 0L, false);
+		String worldName = task.worldName;
+		if (!registerTask(sender, task)) return false;
+
+		long[] failedChunks = task.failureLedger.read();
+		if (failedChunks.length == 0) {
+			colorMessage(sender, YELLOW, "No failed chunks recorded for " + worldName + ".");
+			synchronized (tasksLock) {
+				tasks.remove(task.worldId);
+				publishTasks();
+			}
+			return false;
+		}
+
+		task.replay = true;
+		task.retention = null;
+		task.tileSize = 0;
+		task.radius = failedChunks.length;
+		synchronized (task.requeueLock) {
+			for (long key : failedChunks) {
+				task.requeuedChunks.enqueue(key);
+			}
+		}
+		task.timerStart = System.currentTimeMillis();
+
+		initializeSchedulers(task);
+		playerEvents.track(task);
+		startCleanupScheduler(task);
+		startWatchdogScheduler(task);
+		colorMessage(sender, GOLD, "Replaying " + failedChunks.length + " failed chunks for " + worldName + ".");
 		startGeneration(task);
 		print.start(task);
 		return true;
 	}
 
+	/**
+	 * Requeues chunks that were cancelled or left waiting for a retry when the previous run stopped.
+	 * They were counted in the saved progress, so the counters are rolled back by the same amount.
+	 */
+	private void restorePendingChunks(PreGenerationTask task, boolean resumed) {
+		long[] pending = task.pendingLedger.read();
+		if (!resumed || pending.length == 0) return;
+
+		int restored = (int) Math.min(pending.length, task.submittedChunks.get());
+		synchronized (task.requeueLock) {
+			for (int i = 0; i < restored; i++) {
+				task.requeuedChunks.enqueue(pending[i]);
+			}
+		}
+		task.submittedChunks.addAndGet(-restored);
+		task.totalChunksProcessed.add(-restored);
+		logPlain("Requeued " + restored + " unfinished chunks for " + task.worldName);
+	}
+
+	/**
+	 * Shards a Folia task into one lane per region thread so several regions generate at once.
+	 * Runs that already progressed on the single spiral keep it. Runs that progressed in lanes which cannot be restored
+	 * start over from the center, since their spiral position was never advanced and does not match their counters.
+	 */
+	private void setupLanes(PreGenerationTask task) {
+		if (task.replay) return;
+		boolean fresh = task.totalChunksProcessed.sum() == 0L && task.submittedChunks.get() == 0L;
+		boolean hadLanes = !fresh && WorldRegistry.laneStateFile(plugin, task.worldName).isFile();
+		GenerationLane[] lanes = planLanes(task);
+		if (lanes == null) {
+			if (hadLanes) restartSpiral(task);
+			return;
+		}
+		if (!fresh && !load.lanes(plugin, task, lanes)) {
+			if (!hadLanes) {
+				logPlain("Continuing " + task.worldName + " on a single spiral");
+				return;
+			}
+			restartSpiral(task);
+		}
+
+		long quota = 0L;
+		for (GenerationLane lane : lanes) {
+			quota += lane.quota;
+		}
+		task.lanes = lanes;
+		task.radius = quota;
+		logPlain("Split " + task.worldName + " into " + lanes.length + " Folia lanes");
+	}
+
+	/**
+	 * @return the lanes this task would use, or null if it runs on a single spiral
+	 */
+	private static GenerationLane[] planLanes(PreGenerationTask task) {
+		if (!IS_FOLIA || !PluginSettings.Tuning.FOLIA_LANES_ENABLED.getBoolean()) return null;
+		int laneCount = PluginSettings.Tuning.FOLIA_LANE_COUNT.getInt();
+		if (laneCount <= 0) laneCount = GenerationLane.configuredRegionThreads();
+		if (laneCount < 2) return null;
+
+		GenerationLane[] lanes;
+		if (task.hasChunkBounds) {
+			lanes = GenerationLane.split(laneCount, task.minChunkX, task.maxChunkX, task.minChunkZ, task.maxChunkZ);
+		} else {
+			GenerationTarget border = GenerationTarget.fromInput(task.world, "default");
+			if (border == null) return null;
+			lanes = GenerationLane.split(laneCount, border.minChunkX, border.maxChunkX, border.minChunkZ, border.maxChunkZ);
+		}
+		return lanes.length < 2 ? null : lanes;
+	}
+
+	/**
+	 * Drops progress made in lanes that cannot be restored. Chunks already generated load quickly when revisited.
+	 */
+	private void restartSpiral(PreGenerationTask task) {
+		logColor(YELLOW, "Lane progress for " + task.worldName + " cannot be restored; restarting from the center");
+		task.chunkIterator.reset();
+		task.chunkIterator.setCenterRegion(Math.floorDiv(Math.floorDiv(task.centerBlockX, 16), 32), Math.floorDiv(Math.floorDiv(task.centerBlockZ, 16), 32));
+		task.totalChunksProcessed.reset();
+		task.submittedChunks.set(0L);
+		task.stopAfterCurrentRegion = false;
+		synchronized (task.requeueLock) {
+			task.requeuedChunks.clear();
+		}
+		File laneFile = WorldRegistry.laneStateFile(plugin, task.worldName);
+		if (laneFile.exists() && !laneFile.delete()) {
+			exceptionMsg("Failed to delete lane state for " + task.worldName);
+		}
+	}
+
+	/**
+	 * Takes over saving from the world autosave. Folia saves regions on its own schedule and offers no world save, so it keeps autosave.
+	 */
+	private void setupSavePacing(PreGenerationTask task) {
+		if (IS_FOLIA || task.replay || !PluginSettings.Tuning.SAVE_PACING_ENABLED.getBoolean()) return;
+		try {
+			task.savePacer = new SavePacer(plugin, task.world);
+		} catch (Exception e) {
+			exceptionMsg("Failed to set up save pacing for " + task.worldName + ": " + e.getMessage());
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Generates through the chunk system to the target status when enabled and available. Safety mode keeps the public API,
+	 * since it exists to wait for complete chunks, and so do tiles, which are requested as a batch through the public API.
+	 */
+	private void setupStatusLoading(PreGenerationTask task) {
+		if (!IS_PAPER || usesPaperChunkSafety(task) || task.tileSize > 0 || !PluginSettings.Tuning.CHUNK_SYSTEM_ENABLED.getBoolean()) return;
+		task.statusLoader = StatusChunkLoader.probe(task.world);
+	}
+
+	/**
+	 * Orders each spiral ring by historical exploration heat. New tasks freeze the current heat next to their state
+	 * so resumed runs map saved spiral positions to the same regions; tasks started without it keep the plain spiral.
+	 */
+	private void setupHeatOrder(PreGenerationTask task) {
+		if (heatmap == null || task.replay || task.lanes != null || !task.stateHasCenter
+				|| !PluginSettings.Tuning.HEATMAP_ORDER_RINGS.getBoolean()) return;
+		File file = WorldRegistry.heatOrderFile(plugin, task.worldName);
+		boolean fresh = task.totalChunksProcessed.sum() == 0L && task.submittedChunks.get() == 0L;
+		Long2FloatOpenHashMap heat = new Long2FloatOpenHashMap();
+		try {
+			if (fresh) {
+				heat = heatmap.snapshot(task.world);
+				ExplorationHeatmap.write(file, heat, System.currentTimeMillis());
+			} else if (file.isFile()) {
+				ExplorationHeatmap.read(file, heat);
+			} else {
+				return;
+			}
+		} catch (IOException e) {
+			exceptionMsg("Failed to prepare heat order for " + task.worldName + ": " + e.getMessage());
+			e.printStackTrace();
+			return;
+		}
+
+		int centerRegionX = Math.floorDiv(Math.floorDiv(task.centerBlockX, 16), 32);
+		int centerRegionZ = Math.floorDiv(Math.floorDiv(task.centerBlockZ, 16), 32);
+		HeatRingOrder order = new HeatRingOrder(heat, centerRegionX, centerRegionZ);
+		if (!order.hasHeat()) return;
+		task.chunkIterator.setRegionOrder(order);
+		logPlain("Generating " + task.worldName + " toward the most explored directions first");
+	}
+
+	private PreGenerationTask createTask(int parallelTasksMultiplier,
+			char timeUnit,
+			int timeValue,
+			int printTime,
+			World world,
+			long radius,
+			long targetSideChunks,
+			boolean forceChunkSafety) {
+		String worldName = WorldRegistry.id(world);
+
+		PreGenerationTask task = new PreGenerationTask();
+		task.parallelTasksMultiplier = parallelTasksMultiplier;
+		task.timeUnit = timeUnit;
+		task.timeValue = timeValue;
+		task.printTime = printTime;
+		task.world = world;
+		task.worldName = worldName;
+		task.radius = radius;
+		task.targetSideChunks = targetSideChunks;
+		task.forceChunkSafety = forceChunkSafety;
+		task.enabled = true;
+		task.worldId = WorldIdManager.idOf(world);
+		task.stopAfterCurrentRegion = false;
+		task.taskQueueTimer = PluginSettings.getTaskQueueTimer(world);
+		task.failureLedger = new ChunkLedger(WorldRegistry.failureLedgerFile(plugin, worldName));
+		task.pendingLedger = new ChunkLedger(WorldRegistry.pendingLedgerFile(plugin, worldName));
+		if (IS_PAPER && !IS_FOLIA && PluginSettings.Tuning.TILES_ENABLED.getBoolean()) {
+			task.tileSize = tileSize();
+		}
+		if (IS_PAPER && PluginSettings.Tuning.RETENTION_ENABLED.getBoolean()) {
+			task.retention = new RetentionWindow(retentionCapacity(task), PluginSettings.Tuning.RETENTION_RELEASE_BATCH.getInt());
+		}
+		return task;
+	}
+
+	private static int tileSize() {
+		int size = PluginSettings.Tuning.TILE_SIZE.getInt();
+		if (size >= 2 && size <= 32 && Integer.bitCount(size) == 1) return size;
+		logColor(YELLOW, "tiles.size must be 2, 4, 8, 16 or 32; using 8");
+		return 8;
+	}
+
+	private boolean registerTask(CommandSender sender, PreGenerationTask task) {
+		synchronized (tasksLock) {
+			if (tasks.containsKey(task.worldId)) {
+				colorMessage(sender, YELLOW, task.worldName + " " + ENABLED_WARNING_MESSAGE);
+				return false;
+			}
+			tasks.put(task.worldId, task);
+			publishTasks();
+		}
+		return true;
+	}
+
 	private void startCleanupScheduler(PreGenerationTask task) {
 		task.cleanupScheduler = new AsyncDelayedScheduler();
 		task.cleanupScheduler.scheduleAtFixedRate(
 				() -> {
 					if (!task.world.getPlayers().isEmpty()) return;
-					synchronized (task.playerChunkLock) {
-						task.playerLoadedChunks.clear();
-						task.playerChunkMap.clear();
-						task.playerChunkRefCount.clear();
-						task.pinnedNewChunks.clear();
-					}
+					task.protection.clear();
 				},
 				60_000,
 				60_000,
@@ -162,6 +524,117 @@ public class PreGenerator implements Listener {
 				);
 	}
 
+	private void startWatchdogScheduler(PreGenerationTask task) {
+		task.watchdogScheduler.scheduleAtFixedRate(
+				() -> checkStuckChunks(task),
+				WATCHDOG_INTERVAL_MS,
+				WATCHDOG_INTERVAL_MS,
+				TimeUnit.MILLISECONDS,
+				task.watchdogScheduler.isEnabledSupplier()
+				);
+		task.watchdogScheduler.scheduleAtFixedRate(
+				() -> resumeDeferredChunks(task),
+				WATCHDOG_INTERVAL_MS,
+				WATCHDOG_INTERVAL_MS,
+				TimeUnit.MILLISECONDS,
+				task.watchdogScheduler.isEnabledSupplier()
+				);
+		if (task.retention != null) {
+			task.watchdogScheduler.scheduleAtFixedRate(
+					() -> task.retention.setCapacity(retentionCapacity(task)),
+					WATCHDOG_INTERVAL_MS,
+					WATCHDOG_INTERVAL_MS,
+					TimeUnit.MILLISECONDS,
+					task.watchdogScheduler.isEnabledSupplier()
+					);
+		}
+	}
+
+	/**
+	 * Sizes the retention window from the task's in-flight budget and shrinks it as free heap runs low.
+	 */
+	private int retentionCapacity(PreGenerationTask task) {
+		long budget = (long) maxSafetyInFlight(task) * 2L;
+		long min = Math.max(0, PluginSettings.Tuning.RETENTION_MIN_CHUNKS.getInt());
+		long max = Math.max(min, PluginSettings.Tuning.RETENTION_MAX_CHUNKS.getInt());
+		long capacity = Math.min(max, Math.max(min, budget));
+
+		Runtime runtime = Runtime.getRuntime();
+		long maxHeap = runtime.maxMemory();
+		long usedHeap = runtime.totalMemory() - runtime.freeMemory();
+		double freeFraction = (maxHeap - usedHeap) / (double) maxHeap;
+		double floor = PluginSettings.Tuning.RETENTION_MIN_FREE_HEAP_PERCENT.getDouble() / 100.0;
+		if (freeFraction <= floor) return 0;
+		if (freeFraction < floor * 2.0) capacity /= 2L;
+		return (int) capacity;
+	}
+
+	/**
+	 * Reports chunks that have been in flight past the deadline and optionally hands them to the retry path.
+	 */
+	private void checkStuckChunks(PreGenerationTask task) {
+		if (!task.enabled) return;
+		long timeoutSeconds = Math.max(1L, PluginSettings.Tuning.STUCK_CHUNK_TIMEOUT_SECONDS.getLong());
+		LongArrayList stuck = new LongArrayList();
+		int newlyStuck = task.watchdog.collectStuck(TimeUnit.SECONDS.toNanos(timeoutSeconds), stuck);
+		if (stuck.isEmpty()) return;
+
+		if (newlyStuck > 0) {
+			task.stuckChunks.add(newlyStuck);
+			long oldestKey = stuck.getLong(0);
+			long oldestSubmit = task.watchdog.submittedAt(oldestKey);
+			for (int i = 1, size = stuck.size(); i < size; i++) {
+				long key = stuck.getLong(i);
+				long submittedAt = task.watchdog.submittedAt(key);
+				if (submittedAt != Long.MIN_VALUE && submittedAt < oldestSubmit) {
+					oldestKey = key;
+					oldestSubmit = submittedAt;
+				}
+			}
+			long oldestSeconds = oldestSubmit == Long.MIN_VALUE ? timeoutSeconds : TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - oldestSubmit);
+			logColor(YELLOW, stuck.size() + " chunks in " + task.worldName + " have been in flight for over " + timeoutSeconds
+					+ "s; oldest is " + MortonCode.getX(oldestKey) + "," + MortonCode.getZ(oldestKey) + " at " + oldestSeconds + "s");
+		}
+
+		int dumpThreshold = PluginSettings.Tuning.THREAD_DUMP_THRESHOLD.getInt();
+		if (dumpThreshold > 0 && stuck.size() >= dumpThreshold) {
+			task.watchdog.dumpWorkerThreads(THREAD_DUMP_INTERVAL_NANOS);
+		}
+
+		if (PluginSettings.Tuning.ABANDON_STUCK_CHUNKS.getBoolean()) {
+			for (int i = 0, size = stuck.size(); i < size; i++) {
+				abandonStuckChunk(task, stuck.getLong(i));
+			}
+		}
+	}
+
+	/**
+	 * Stops waiting for a stuck chunk and sends it through the same retry path as a failed one.
+	 */
+	private void abandonStuckChunk(PreGenerationTask task, long key) {
+		if (!task.enabled || !task.watchdog.complete(key)) return;
+		releaseLaneSlot(task, key);
+		if (task.tileSize > 0 && requeueTile(task, key)) return;
+		boolean countedAsProcessed = countsProgressOnSubmit(task);
+		if (!retryOrRecordFailure(task, MortonCode.getX(key), MortonCode.getZ(key), countedAsProcessed) && !countedAsProcessed) {
+			markChunkProcessed(task);
+		}
+		if (!IS_FOLIA && IS_PAPER && usesPaperChunkSafety(task)) {
+			finishSafetyChunk(task);
+		}
+	}
+
+	private static GenerationLane releaseLaneSlot(PreGenerationTask task, long key) {
+		if (task.lanes == null) return null;
+		GenerationLane lane = GenerationLane.laneFor(task.lanes, MortonCode.getX(key), MortonCode.getZ(key));
+		if (lane != null) lane.inFlight.decrementAndGet();
+		return lane;
+	}
+
+	private boolean countsProgressOnSubmit(PreGenerationTask task) {
+		return !IS_FOLIA && IS_PAPER && !usesPaperChunkSafety(task);
+	}
+
 	/**
 	 * Finds the center point for generation for a world.
 	 * Uses settings center, world border center, or spawn as fallback.
@@ -225,7 +698,9 @@ public class PreGenerator implements Listener {
 
 	private void applyTargetBounds(PreGenerationTask task, int centerChunkX, int centerChunkZ) {
 		if (task.targetSideChunks <= 0L) {
+			task.hasChunkBounds = false;
 			task.chunkIterator.clearChunkBounds();
+			if (task.retention != null) task.retention.clearChunkBounds();
 			return;
 		}
 
@@ -234,12 +709,20 @@ public class PreGenerator implements Listener {
 		long minChunkZ = (long) centerChunkZ - halfSide;
 		long maxChunkX = minChunkX + task.targetSideChunks - 1L;
 		long maxChunkZ = minChunkZ + task.targetSideChunks - 1L;
+		task.hasChunkBounds = true;
+		task.minChunkX = toChunkCoordinate(minChunkX);
+		task.maxChunkX = toChunkCoordinate(maxChunkX);
+		task.minChunkZ = toChunkCoordinate(minChunkZ);
+		task.maxChunkZ = toChunkCoordinate(maxChunkZ);
 		task.chunkIterator.setChunkBounds(
 				toChunkCoordinate(minChunkX),
 				toChunkCoordinate(maxChunkX),
 				toChunkCoordinate(minChunkZ),
 				toChunkCoordinate(maxChunkZ)
 				);
+		if (task.retention != null) {
+			task.retention.setChunkBounds((int) minChunkX, (int) maxChunkX, (int) minChunkZ, (int) maxChunkZ);
+		}
 	}
 
 	private static int toChunkCoordinate(long value) {
@@ -255,18 +738,24 @@ public class PreGenerator implements Listener {
 	private void initializeSchedulers(PreGenerationTask task) {
 		task.printScheduler = new AsyncDelayedScheduler();
 		task.taskSubmitScheduler = new AsyncDelayedScheduler();
+		task.watchdogScheduler = new AsyncDelayedScheduler();
+		if (IS_PAPER) {
+			task.unloadDispatcher = new UnloadDispatcher(plugin, task.world, IS_FOLIA);
+			task.unloadDispatcher.start();
+		}
 	}
 
 	/**
 	 * Stops pre-generation for a world when called by a command.
 	 */
 	public void disable(CommandSender sender, World world, boolean showMessages) {
-		int worldId = WorldIdManager.getWorldId(world);
+		int worldId = WorldIdManager.idOf(world);
 		String worldName = WorldRegistry.id(world);
 		PreGenerationTask task;
 
 		synchronized (tasksLock) {
 			task = tasks.remove(worldId);
+			if (task != null) publishTasks();
 		}
 
 		if (task == null || !task.enabled) {
@@ -293,6 +782,13 @@ public class PreGenerator implements Listener {
 		if (task.taskSubmitScheduler != null) {
 			task.taskSubmitScheduler.setEnabled(false);
 		}
+		cancelInFlight(task);
+		recordRequeuedChunks(task);
+		unfinishedLedger(task).commit();
+		// A disabled plugin cannot schedule the release; the server drops its chunk tickets on disable.
+		if (task.retention != null && !shuttingDown) {
+			releaseRetained(task, task.retention.releaseAll());
+		}
 		task.timerEnd = System.currentTimeMillis();
 		try {
 			save.state(plugin, task);
@@ -301,20 +797,88 @@ public class PreGenerator implements Listener {
 			exceptionMsg("Exception during saveTaskState or printInfo: " + e.getMessage());
 			e.printStackTrace();
 		}
+		if (task.pauseStartedNanos != 0L) {
+			task.pausedNanos.add(System.nanoTime() - task.pauseStartedNanos);
+			task.pauseStartedNanos = 0L;
+		}
 		print.stop(task);
+		if (task.savePacer != null) task.savePacer.close();
 		shutdownSchedulers(task);
+		task.watchdog.clear();
 
-		synchronized (task.playerChunkLock) {
-			task.playerLoadedChunks.clear();
-			task.playerChunkMap.clear();
-			task.playerChunkRefCount.clear();
-			task.pinnedNewChunks.clear();
-		}
+		task.protection.clear();
 
 		task.enabled = false;
 		synchronized (tasksLock) {
 			tasks.remove(task.worldId);
+			publishTasks();
+		}
+	}
+
+	/**
+	 * Cancels chunk work that has not finished yet, such as Folia region tasks that have not started,
+	 * and keeps those chunks for the next run. Requests Paper has already started cannot be
+	 * cancelled or lowered in priority through the API; their completions are simply ignored.
+	 */
+	private void cancelInFlight(PreGenerationTask task) {
+		long[] cancelled = expandTiles(task, task.watchdog.cancelAll());
+		if (cancelled.length == 0) return;
+
+		unfinishedLedger(task).recordAll(cancelled);
+		logColor(YELLOW, "Cancelled " + cancelled.length + " queued chunk requests in " + task.worldName + "; they are kept for the next run");
+	}
+
+	/**
+	 * Replaces the keys of unfinished tiles with the keys of every chunk they cover.
+	 */
+	private static long[] expandTiles(PreGenerationTask task, long[] keys) {
+		if (task.tileSize <= 0) return keys;
+		LongArrayList expanded = new LongArrayList(keys.length);
+		for (long key : keys) {
+			RegionChunkIterator.Tile tile = removeTile(task, key);
+			if (tile == null) {
+				expanded.add(key);
+				continue;
+			}
+			for (int x = tile.minChunkX; x <= tile.maxChunkX; x++) {
+				for (int z = tile.minChunkZ; z <= tile.maxChunkZ; z++) {
+					expanded.add(MortonCode.encode(x, z));
+				}
+			}
 		}
+		return expanded.toLongArray();
+	}
+
+	/**
+	 * Moves chunks still waiting for a retry into the unfinished ledger so the next run picks them up.
+	 */
+	private void recordRequeuedChunks(PreGenerationTask task) {
+		long[] requeued;
+		synchronized (task.requeueLock) {
+			requeued = new long[task.requeuedChunks.size() + task.deferredChunks.size()];
+			int count = 0;
+			while (!task.requeuedChunks.isEmpty()) {
+				requeued[count++] = task.requeuedChunks.dequeueLong();
+			}
+			while (!task.deferredChunks.isEmpty()) {
+				requeued[count++] = task.deferredChunks.dequeueLong();
+			}
+			task.chunkAttempts.clear();
+		}
+		int recorded = requeued.length;
+		if (recorded > 0) {
+			unfinishedLedger(task).recordAll(requeued);
+			task.submittedChunks.addAndGet(recorded);
+			logColor(YELLOW, recorded + " unfinished chunks in " + task.worldName + " kept for the next run");
+		}
+	}
+
+	/**
+	 * Replay tasks return unfinished chunks to the failure ledger they came from;
+	 * normal tasks requeue them from the pending ledger when they resume.
+	 */
+	private static ChunkLedger unfinishedLedger(PreGenerationTask task) {
+		return task.replay ? task.failureLedger : task.pendingLedger;
 	}
 
 	/**
@@ -324,6 +888,194 @@ public class PreGenerator implements Listener {
 		if (task.printScheduler != null) task.printScheduler.setEnabled(false);
 		if (task.taskSubmitScheduler != null) task.taskSubmitScheduler.setEnabled(false);
 		if (task.cleanupScheduler != null) task.cleanupScheduler.setEnabled(false);
+		if (task.watchdogScheduler != null) task.watchdogScheduler.setEnabled(false);
+		if (task.unloadDispatcher != null) task.unloadDispatcher.close();
+	}
+
+	/**
+	 * @return the warm set of frequently visited chunks, or null when it is disabled
+	 */
+	public WarmSet getWarmSet() {
+		return warmSet;
+	}
+
+	/**
+	 * Switches running and future tasks between full speed and coexistence with online players.
+	 * While coexisting, chunks are admitted only from tick slack, are deferred near players and are requested without urgency.
+	 */
+	public synchronized void setCoexisting(boolean coexisting) {
+		if (coexisting == (coexistence != null)) return;
+		if (coexisting) {
+			CoexistenceThrottle throttle = new CoexistenceThrottle(
+					PluginSettings.Tuning.COEXISTENCE_RESERVED_TICK_MS.getDouble(),
+					PluginSettings.Tuning.COEXISTENCE_MAX_CHUNKS_PER_TICK.getInt());
+			coexistence = throttle;
+			if (IS_FOLIA) {
+				coexistenceFoliaTimer = Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, _ -> throttle.onTickStart(System.nanoTime()), 1L, 1L);
+			} else if (IS_PAPER) {
+				if (tickSlackListener == null) tickSlackListener = new TickSlackListener();
+				plugin.getServer().getPluginManager().registerEvents(tickSlackListener, plugin);
+			} else {
+				coexistenceBukkitTimer = Bukkit.getScheduler().runTaskTimer(plugin, () -> throttle.onTickStart(System.nanoTime()), 1L, 1L);
+			}
+			logColor(WHITE, "Players online, pre-generation continues in coexistence mode");
+			return;
+		}
+
+		coexistence = null;
+		if (coexistenceFoliaTimer != null) {
+			coexistenceFoliaTimer.cancel();
+			coexistenceFoliaTimer = null;
+		}
+		if (coexistenceBukkitTimer != null) {
+			coexistenceBukkitTimer.cancel();
+			coexistenceBukkitTimer = null;
+		}
+		if (tickSlackListener != null) HandlerList.unregisterAll(tickSlackListener);
+		PreGenerationTask[] running;
+		synchronized (tasksLock) {
+			running = tasks.values().toArray(new PreGenerationTask[0]);
+		}
+		for (PreGenerationTask task : running) {
+			resumeDeferredChunks(task);
+		}
+		logColor(WHITE, "Coexistence mode ended, pre-generation back to full speed");
+	}
+
+	/**
+	 * Feeds Paper's tick end slack into the coexistence throttle. Registered only while coexisting.
+	 */
+	private final class TickSlackListener implements Listener {
+		@EventHandler
+		private void onTickEnd(ServerTickEndEvent event) {
+			CoexistenceThrottle throttle = coexistence;
+			if (throttle != null) throttle.onTickEnd(event.getTimeRemaining());
+		}
+	}
+
+	/**
+	 * Holds admission while a pause covers the task's world. Once in-flight chunks have drained the world is saved once
+	 * (Folia saves regions on its own), and the time spent paused is added to the task's metrics on resume.
+	 *
+	 * @return true if nothing may be submitted now
+	 */
+	private boolean holdForPause(PreGenerationTask task) {
+		if (!pauses.isPaused(task.world)) {
+			if (task.pauseStartedNanos != 0L) {
+				task.pausedNanos.add(System.nanoTime() - task.pauseStartedNanos);
+				task.pauseStartedNanos = 0L;
+				saveTaskState(task);
+			}
+			return false;
+		}
+		if (task.pauseStartedNanos == 0L) {
+			task.pauseStartedNanos = System.nanoTime();
+			task.pauseFlushed = false;
+		}
+		if (!task.pauseFlushed && task.watchdog.size() == 0 && task.activeSafetyTasks.get() == 0) {
+			task.pauseFlushed = true;
+			saveTaskState(task);
+			if (!IS_FOLIA) {
+				Bukkit.getScheduler().runTask(plugin, () -> {
+					try {
+						task.world.save();
+						logPlain("Saved " + task.worldName + " after in-flight chunks drained for the pause");
+					} catch (Exception e) {
+						exceptionMsg("Exception saving " + task.worldName + ": " + e.getMessage());
+						e.printStackTrace();
+					}
+				});
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return how many of {@code wanted} chunks may be submitted now, lowered by host load for auto tasks, by this server's
+	 * share of the host budget, and while the task's world saves. The host caps scale the multiplier, so they only apply
+	 * where the multiplier already bounds {@code wanted}, not to the Bukkit tick budget loop.
+	 */
+	private int admit(PreGenerationTask task, int wanted) {
+		if (wanted <= task.parallelTasksMultiplier) {
+			if (task.autoParallelism && hostLoad != null) wanted = Math.min(wanted, hostLoad.scale(task.parallelTasksMultiplier));
+			if (hostBudget != null) wanted = Math.min(wanted, hostBudget.scale(task.parallelTasksMultiplier));
+		}
+		SavePacer pacer = task.savePacer;
+		if (pacer != null) wanted = pacer.throttle(wanted);
+		CoexistenceThrottle throttle = coexistence;
+		return throttle == null ? wanted : throttle.acquire(wanted);
+	}
+
+	/**
+	 * @return the parallelism wanted by every running task, published to other instances sharing the host budget
+	 */
+	private int demand() {
+		int total = 0;
+		for (PreGenerationTask task : activeTasks) {
+			if (task != null && task.enabled) total += task.parallelTasksMultiplier;
+		}
+		return total;
+	}
+
+	/**
+	 * @return chunks per second completed by this server since the previous call, made once per host budget heartbeat.
+	 * Counts only completions in this session, so restored progress and tasks starting or ending do not move the rate.
+	 */
+	private long throughput() {
+		long total = sessionChunks.sum();
+		long now = System.nanoTime();
+		long generated = total - throughputChunks;
+		long elapsed = now - throughputNanos;
+		boolean first = throughputNanos == 0L;
+		throughputChunks = total;
+		throughputNanos = now;
+		if (first || elapsed <= 0L) return 0L;
+		return generated * TimeUnit.SECONDS.toNanos(1) / elapsed;
+	}
+
+	private boolean urgent() {
+		return coexistence == null;
+	}
+
+	private static boolean nearPlayer(PreGenerationTask task, int chunkX, int chunkZ) {
+		return task.protection.isNear(chunkX, chunkZ, PluginSettings.Tuning.COEXISTENCE_EXCLUSION_CHUNKS.getInt());
+	}
+
+	/**
+	 * Sets a picked chunk aside while coexisting if a player is too close to it.
+	 *
+	 * @return true if the chunk was deferred and must not be submitted
+	 */
+	private boolean deferIfNearPlayer(PreGenerationTask task, RegionChunkIterator.NextChunkResult next) {
+		if (coexistence == null || !nearPlayer(task, next.chunkX, next.chunkZ)) return false;
+		synchronized (task.requeueLock) {
+			task.deferredChunks.enqueue(next.packedKey);
+		}
+		task.submittedChunks.decrementAndGet();
+		return true;
+	}
+
+	/**
+	 * Returns deferred chunks to the retry queue once no player is near them, or all of them outside coexistence.
+	 */
+	private void resumeDeferredChunks(PreGenerationTask task) {
+		boolean coexisting = coexistence != null;
+		synchronized (task.requeueLock) {
+			for (int i = 0, size = task.deferredChunks.size(); i < size; i++) {
+				long key = task.deferredChunks.dequeueLong();
+				if (coexisting && nearPlayer(task, MortonCode.getX(key), MortonCode.getZ(key))) {
+					task.deferredChunks.enqueue(key);
+				} else {
+					task.requeuedChunks.enqueue(key);
+				}
+			}
+		}
+	}
+
+	private static boolean hasDeferredChunks(PreGenerationTask task) {
+		synchronized (task.requeueLock) {
+			return !task.deferredChunks.isEmpty();
+		}
 	}
 
 	/**
@@ -342,11 +1094,15 @@ public class PreGenerator implements Listener {
 		} else if (IS_PAPER) {
 			task.taskSubmitScheduler.scheduleAtFixedRate(
 					() -> {
-						if (!task.enabled) return;
+						if (!task.enabled || holdForPause(task)) return;
 						if (usesPaperChunkSafety(task)) {
 							processPaperSafetyBatch(task);
 							return;
 						}
+						if (task.tileSize > 0) {
+							submitPaperTiles(task);
+							return;
+						}
 						submitPaperBatch(task);
 					},
 					0,
@@ -355,6 +1111,9 @@ public class PreGenerator implements Listener {
 					task.taskSubmitScheduler.isEnabledSupplier()
 					);
 		} else {
+			TickBudget budget = new TickBudget(
+					PluginSettings.Tuning.BUKKIT_MIN_TICK_BUDGET_MS.getDouble(),
+					PluginSettings.Tuning.BUKKIT_MAX_TICK_BUDGET_MS.getDouble());
 			new org.bukkit.scheduler.BukkitRunnable() {
 				@Override
 				public void run() {
@@ -362,53 +1121,338 @@ public class PreGenerator implements Listener {
 						cancel();
 						return;
 					}
-					task.tasks = Math.max(1, (int) (task.parallelTasksMultiplier / 2.5));
-					for (int i = 0, limit = task.tasks; i < limit; i++) {
-						syncProcess(task);
+					if (holdForPause(task)) {
+						task.tasks = 0;
+						return;
+					}
+					long tickStart = System.nanoTime();
+					budget.beginTick(tickStart);
+					int processed = 0;
+					int allowed = admit(task, Integer.MAX_VALUE);
+					while (task.enabled && processed < allowed) {
+						long chunkStart = System.nanoTime();
+						if (processed > 0 && !budget.hasRoom(chunkStart - tickStart)) break;
+						if (!syncProcess(task)) break;
+						budget.recordChunk(System.nanoTime() - chunkStart);
+						processed++;
 					}
+					task.tasks = processed;
 				}
 			}.runTaskTimer(plugin, 0L, 1L);
 		}
 	}
 
+	/**
+	 * Groups the batch by owning region section and submits one region task per group.
+	 */
 	private void submitFoliaBatch(PreGenerationTask task) {
-		if (!task.enabled) return;
-		for (int i = 0, limit = task.parallelTasksMultiplier; i < limit; i++) {
+		if (!task.enabled || holdForPause(task)) return;
+		if (task.lanes != null) {
+			submitFoliaLanes(task);
+			return;
+		}
+		LongArrayList keys = new LongArrayList(task.parallelTasksMultiplier);
+		for (int i = 0, limit = admit(task, task.parallelTasksMultiplier); i < limit; i++) {
 			RegionChunkIterator.NextChunkResult next = nextChunkOrFinish(task);
-			if (next == null) return;
-			processChunkFolia(task, next.chunkX, next.chunkZ);
+			if (next == null) break;
+			keys.add(next.packedKey);
+		}
+		submitFoliaGroups(task, keys);
+	}
+
+	/**
+	 * Admits chunks from every lane up to the lane's own in-flight budget.
+	 */
+	private void submitFoliaLanes(PreGenerationTask task) {
+		GenerationLane[] lanes = task.lanes;
+		int allowed = admit(task, task.parallelTasksMultiplier);
+		int perLane = allowed == 0 ? 0 : Math.max(1, Math.ceilDiv(allowed, lanes.length));
+		int budget = laneInFlightBudget(task);
+		LongArrayList keys = new LongArrayList(perLane * lanes.length);
+		boolean allDone = true;
+		for (GenerationLane lane : lanes) {
+			int admit = Math.min(perLane, budget - lane.inFlight.get());
+			for (int i = 0; i < admit; i++) {
+				RegionChunkIterator.NextChunkResult next = nextLaneChunk(task, lane);
+				if (next == null) break;
+				keys.add(next.packedKey);
+			}
+			allDone &= lane.done();
+		}
+		submitFoliaGroups(task, keys);
+
+		if (allDone && task.watchdog.size() == 0) {
+			boolean requeueEmpty;
+			synchronized (task.requeueLock) {
+				requeueEmpty = task.requeuedChunks.isEmpty() && task.deferredChunks.isEmpty();
+			}
+			if (requeueEmpty) completeTask(task);
+		}
+	}
+
+	private int laneInFlightBudget(PreGenerationTask task) {
+		int configured = PluginSettings.Tuning.FOLIA_LANE_IN_FLIGHT.getInt();
+		if (configured > 0) return configured;
+		return Math.max(4, maxSafetyInFlight(task) / task.lanes.length);
+	}
+
+	private RegionChunkIterator.NextChunkResult nextLaneChunk(PreGenerationTask task, GenerationLane lane) {
+		for (int skipped = 0; skipped < MAX_DEFERRED_PER_PICK; skipped++) {
+			RegionChunkIterator.NextChunkResult next = pickLaneChunk(task, lane);
+			if (next == null || !deferIfNearPlayer(task, next)) return next;
+		}
+		return null;
+	}
+
+	private RegionChunkIterator.NextChunkResult pickLaneChunk(PreGenerationTask task, GenerationLane lane) {
+		if (!task.enabled) return null;
+		RegionChunkIterator.NextChunkResult next = pollRequeuedChunk(task);
+		if (next == null) {
+			next = lane.next();
+			if (next == null) return null;
+			if (next.regionCompleted) {
+				onRegionCompleted(task);
+			}
+		}
+		task.submittedChunks.incrementAndGet();
+		return next;
+	}
+
+	/**
+	 * Groups chunks by owning region section and submits one region task per group.
+	 */
+	private void submitFoliaGroups(PreGenerationTask task, LongArrayList keys) {
+		if (keys.isEmpty()) return;
+		Long2ObjectOpenHashMap<LongArrayList> groups = new Long2ObjectOpenHashMap<>();
+		for (int i = 0, size = keys.size(); i < size; i++) {
+			long key = keys.getLong(i);
+			int chunkX = MortonCode.getX(key);
+			int chunkZ = MortonCode.getZ(key);
+			if (task.lanes != null) {
+				GenerationLane lane = GenerationLane.laneFor(task.lanes, chunkX, chunkZ);
+				if (lane != null) lane.inFlight.incrementAndGet();
+			}
+			long section = MortonCode.encode(chunkX >> UnloadDispatcher.SECTION_SHIFT, chunkZ >> UnloadDispatcher.SECTION_SHIFT);
+			LongArrayList group = groups.get(section);
+			if (group == null) {
+				group = new LongArrayList();
+				groups.put(section, group);
+			}
+			group.add(key);
+		}
+		for (LongArrayList group : groups.values()) {
+			processFoliaGroup(task, group.toLongArray());
 		}
 	}
 
 	private void submitPaperBatch(PreGenerationTask task) {
 		if (!task.enabled) return;
-		for (int i = 0, limit = task.parallelTasksMultiplier; i < limit; i++) {
+		for (int i = 0, limit = admit(task, task.parallelTasksMultiplier); i < limit; i++) {
 			RegionChunkIterator.NextChunkResult next = nextChunkOrFinish(task);
 			if (next == null) return;
 			processChunkPaper(task, next.chunkX, next.chunkZ);
 		}
 	}
 
+	/**
+	 * Submits chunks waiting for a retry one by one, then whole tiles through Paper's ranged async API.
+	 * Tiles are admitted at the same chunk rate as the per-chunk path.
+	 */
+	private void submitPaperTiles(PreGenerationTask task) {
+		if (!task.enabled) return;
+		int credit = admit(task, task.parallelTasksMultiplier);
+		RegionChunkIterator.NextChunkResult requeued;
+		while (credit > 0 && (requeued = pollRequeuedChunk(task)) != null) {
+			task.submittedChunks.incrementAndGet();
+			if (deferIfNearPlayer(task, requeued)) continue;
+			processChunkPaper(task, requeued.chunkX, requeued.chunkZ);
+			credit--;
+		}
+
+		int tileArea = task.tileSize * task.tileSize;
+		task.tileCredit = Math.min(task.tileCredit + credit, tileArea);
+		int inFlightLimit = Math.max(tileArea, maxSafetyInFlight(task));
+		while (task.enabled && task.tileCredit > 0 && task.tileChunksInFlight.get() < inFlightLimit) {
+			if (task.submittedChunks.get() >= task.radius) {
+				completeTaskIfReady(task);
+				return;
+			}
+			RegionChunkIterator.Tile tile = task.chunkIterator.getNextTile(task.tileSize);
+			if (tile == null) {
+				if (!hasDeferredChunks(task)) completeTask(task);
+				return;
+			}
+			if (tile.regionCompleted) {
+				onRegionCompleted(task);
+			}
+			task.tileCredit -= tile.count();
+			if (coexistence != null && deferTileNearPlayer(task, tile)) continue;
+			task.submittedChunks.addAndGet(tile.count());
+			processTilePaper(task, tile);
+		}
+	}
+
+	/**
+	 * Loads a tile with one ranged request and unloads it as a unit once every chunk is loaded.
+	 */
+	private void processTilePaper(PreGenerationTask task, RegionChunkIterator.Tile tile) {
+		long key = MortonCode.encode(tile.minChunkX, tile.minChunkZ);
+		int count = tile.count();
+		synchronized (task.tiles) {
+			task.tiles.put(key, tile);
+		}
+		task.tileChunksInFlight.addAndGet(count);
+		task.watchdog.track(key);
+		try {
+			task.world.getChunksAtAsync(tile.minChunkX, tile.minChunkZ, tile.maxChunkX, tile.maxChunkZ, false, () -> {
+				if (!task.enabled || !task.watchdog.complete(key) || removeTile(task, key) == null) return;
+				for (int x = tile.minChunkX; x <= tile.maxChunkX; x++) {
+					for (int z = tile.minChunkZ; z <= tile.maxChunkZ; z++) {
+						unloadChunk(task, x, z);
+					}
+				}
+				task.totalChunksProcessed.add(count);
+				task.chunksThisCycle.add(count);
+				sessionChunks.add(count);
+				completionCheck(task);
+			});
+		} catch (Exception e) {
+			exceptionMsg("Exception in processTilePaper: " + e.getMessage());
+			e.printStackTrace();
+			task.watchdog.complete(key);
+			requeueTile(task, key);
+		}
+	}
+
+	/**
+	 * Defers every chunk of a tile whose center is within the exclusion distance of a player.
+	 */
+	private static boolean deferTileNearPlayer(PreGenerationTask task, RegionChunkIterator.Tile tile) {
+		int centerX = (tile.minChunkX + tile.maxChunkX) >> 1;
+		int centerZ = (tile.minChunkZ + tile.maxChunkZ) >> 1;
+		if (!task.protection.isNear(centerX, centerZ, PluginSettings.Tuning.COEXISTENCE_EXCLUSION_CHUNKS.getInt() + (task.tileSize >> 1))) {
+			return false;
+		}
+		synchronized (task.requeueLock) {
+			for (int x = tile.minChunkX; x <= tile.maxChunkX; x++) {
+				for (int z = tile.minChunkZ; z <= tile.maxChunkZ; z++) {
+					task.deferredChunks.enqueue(MortonCode.encode(x, z));
+				}
+			}
+		}
+		return true;
+	}
+
+	private static RegionChunkIterator.Tile removeTile(PreGenerationTask task, long key) {
+		RegionChunkIterator.Tile tile;
+		synchronized (task.tiles) {
+			tile = task.tiles.remove(key);
+		}
+		if (tile != null) {
+			task.tileChunksInFlight.addAndGet(-tile.count());
+		}
+		return tile;
+	}
+
+	/**
+	 * Sends every chunk of an unfinished tile through the per-chunk retry path.
+	 *
+	 * @return false if the key does not belong to a tile
+	 */
+	private boolean requeueTile(PreGenerationTask task, long key) {
+		RegionChunkIterator.Tile tile = removeTile(task, key);
+		if (tile == null) return false;
+		for (int x = tile.minChunkX; x <= tile.maxChunkX; x++) {
+			for (int z = tile.minChunkZ; z <= tile.maxChunkZ; z++) {
+				if (!retryOrRecordFailure(task, x, z, false)) markChunkProcessed(task);
+			}
+		}
+		return true;
+	}
+
 	private RegionChunkIterator.NextChunkResult nextChunkOrFinish(PreGenerationTask task) {
+		for (int skipped = 0; skipped < MAX_DEFERRED_PER_PICK; skipped++) {
+			RegionChunkIterator.NextChunkResult next = pickNextChunk(task);
+			if (next == null || !deferIfNearPlayer(task, next)) return next;
+		}
+		return null;
+	}
+
+	private RegionChunkIterator.NextChunkResult pickNextChunk(PreGenerationTask task) {
 		if (!task.enabled) return null;
 		if (task.submittedChunks.get() >= task.radius) {
 			completeTaskIfReady(task);
 			return null;
 		}
 
+		RegionChunkIterator.NextChunkResult requeued = pollRequeuedChunk(task);
+		if (requeued != null) {
+			task.submittedChunks.incrementAndGet();
+			return requeued;
+		}
+		if (task.replay) {
+			completeTaskIfReady(task);
+			return null;
+		}
+
 		RegionChunkIterator.NextChunkResult next = task.chunkIterator.getNextChunkCoordinates();
 		if (next == null) {
-			completeTask(task);
+			if (!hasDeferredChunks(task)) completeTask(task);
 			return null;
 		}
 
 		if (next.regionCompleted) {
-			saveTaskState(task);
+			onRegionCompleted(task);
 		}
 		task.submittedChunks.incrementAndGet();
 		return next;
 	}
 
+	private RegionChunkIterator.NextChunkResult pollRequeuedChunk(PreGenerationTask task) {
+		long key;
+		synchronized (task.requeueLock) {
+			if (task.requeuedChunks.isEmpty()) return null;
+			key = task.requeuedChunks.dequeueLong();
+		}
+		return new RegionChunkIterator.NextChunkResult(MortonCode.getX(key), MortonCode.getZ(key), false);
+	}
+
+	/**
+	 * Requeues a failed chunk until it runs out of attempts, then records it in the failure ledger.
+	 *
+	 * @param countedAsProcessed whether the caller already counted the chunk as processed when it was submitted
+	 * @return true if the chunk was requeued, false if the caller should count it as processed
+	 */
+	private boolean retryOrRecordFailure(PreGenerationTask task, int chunkX, int chunkZ, boolean countedAsProcessed) {
+		if (!task.enabled) return false;
+		long key = MortonCode.encode(chunkX, chunkZ);
+		int maxAttempts = Math.max(1, PluginSettings.Tuning.MAX_CHUNK_ATTEMPTS.getInt());
+		boolean requeued;
+		synchronized (task.requeueLock) {
+			int attempts = task.chunkAttempts.addTo(key, 1) + 1;
+			requeued = attempts < maxAttempts;
+			if (requeued) {
+				task.requeuedChunks.enqueue(key);
+			} else {
+				task.chunkAttempts.remove(key);
+			}
+		}
+
+		if (requeued) {
+			task.submittedChunks.decrementAndGet();
+			if (countedAsProcessed) {
+				task.totalChunksProcessed.decrement();
+			}
+			return true;
+		}
+
+		task.failedChunks.increment();
+		if (task.failureLedger != null && task.failureLedger.record(key)) {
+			logColor(YELLOW, "Chunk " + chunkX + "," + chunkZ + " in " + task.worldName + " failed " + maxAttempts + " times; recorded for /pregen replay");
+		}
+		return false;
+	}
+
 	private void completeTask(PreGenerationTask task) {
 		if (!task.enabled) return;
 		saveTaskState(task);
@@ -431,7 +1475,7 @@ public class PreGenerator implements Listener {
 		}
 
 		int available = maxSafetyInFlight(task) - task.activeSafetyTasks.get();
-		int batchSize = Math.min(task.parallelTasksMultiplier, Math.max(0, available));
+		int batchSize = admit(task, Math.min(task.parallelTasksMultiplier, Math.max(0, available)));
 		if (batchSize <= 0) return;
 
 		for (int i = 0; i < batchSize && task.enabled && task.submittedChunks.get() < task.radius; i++) {
@@ -449,28 +1493,32 @@ public class PreGenerator implements Listener {
 	}
 
 	/**
-	 * Loads and unloads a single chunk on Folia.
+	 * Issues the loads of chunks sharing one region section from a single region task.
 	 */
-	private void processChunkFolia(PreGenerationTask task, int chunkX, int chunkZ) {
-		if (!task.enabled) return;
-		Bukkit.getRegionScheduler().execute(plugin, task.world, chunkX, chunkZ, () -> {
+	private void processFoliaGroup(PreGenerationTask task, long[] keys) {
+		if (!task.enabled || keys.length == 0) return;
+		for (long key : keys) {
+			task.watchdog.track(key);
+		}
+		ScheduledTask handle = Bukkit.getRegionScheduler().run(plugin, task.world, MortonCode.getX(keys[0]), MortonCode.getZ(keys[0]), _ -> {
 			if (!task.enabled) return;
-			task.world.getChunkAtAsync(chunkX, chunkZ, true).thenAccept(chunk -> {
-				if (!task.enabled) return;
-				Bukkit.getRegionScheduler().execute(plugin, task.world, chunkX, chunkZ, () -> {
-					if (!task.enabled) return;
-					if (chunk != null && chunk.isLoaded()) {
-						task.world.unloadChunkRequest(chunkX, chunkZ);
-					}
-					markChunkProcessed(task);
-				});
-			}).exceptionally(ex -> {
-				exceptionMsg("Async chunk load exception in processChunkFolia: " + ex.getMessage());
-				ex.printStackTrace();
-				markChunkProcessed(task);
-				return null;
-			});
+			StatusChunkLoader loader = task.statusLoader;
+			for (long key : keys) {
+				FoliaChunkRequest request = new FoliaChunkRequest(task, key);
+				if (loader != null) {
+					CompletableFuture<Boolean> future = loader.generate(task.world, request.chunkX, request.chunkZ, urgent());
+					task.watchdog.attach(key, future);
+					future.whenComplete(request::generated);
+					continue;
+				}
+				CompletableFuture<Chunk> future = task.world.getChunkAtAsync(request.chunkX, request.chunkZ, true, urgent());
+				task.watchdog.attach(key, future);
+				future.whenComplete(request);
+			}
 		});
+		for (long key : keys) {
+			task.watchdog.attach(key, handle);
+		}
 	}
 
 	/**
@@ -482,19 +1530,29 @@ public class PreGenerator implements Listener {
 			processChunkPaperWithSafety(task, chunkX, chunkZ);
 			return;
 		}
-		getChunkAsync(task, chunkX, chunkZ, true);
-		markChunkProcessed(task);
+		if (getChunkAsync(task, chunkX, chunkZ, true)) {
+			markChunkProcessed(task);
+		}
 	}
 
 	/**
 	 * Runs safety-mode chunk generation and counts progress only after the safety future completes.
 	 */
 	private CompletableFuture<Void> processChunkPaperWithSafety(PreGenerationTask task, int chunkX, int chunkZ) {
+		long key = MortonCode.encode(chunkX, chunkZ);
 		task.activeSafetyTasks.incrementAndGet();
-		return getChunkAsyncWithSafety(task, chunkX, chunkZ, true).whenComplete((_, ex) -> {
+		task.watchdog.track(key);
+		CompletableFuture<Void> future = getChunkAsyncWithSafety(task, chunkX, chunkZ, true);
+		task.watchdog.attach(key, future);
+		return future.whenComplete((_, ex) -> {
+			if (!task.watchdog.complete(key)) return;
 			if (ex != null) {
 				Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
 				exceptionMsg("Chunk safety generation failed for " + task.worldName + " at " + chunkX + "," + chunkZ + ": " + cause.getMessage());
+				if (retryOrRecordFailure(task, chunkX, chunkZ, false)) {
+					finishSafetyChunk(task);
+					return;
+				}
 			}
 			markChunkProcessed(task);
 			finishSafetyChunk(task);
@@ -523,17 +1581,21 @@ public class PreGenerator implements Listener {
 
 	/**
 	 * Processes chunks on the main thread for Bukkit fallback.
+	 *
+	 * @return false if no chunk was available to process
 	 */
-	private void syncProcess(PreGenerationTask task) {
+	private boolean syncProcess(PreGenerationTask task) {
 		try {
-			if (!task.enabled) return;
+			if (!task.enabled) return false;
 			RegionChunkIterator.NextChunkResult next = nextChunkOrFinish(task);
-			if (next == null) return;
+			if (next == null) return false;
 			handleChunkBukkit(task, next.chunkX, next.chunkZ);
 			completionCheck(task);
+			return true;
 		} catch (Exception e) {
 			exceptionMsg("Exception in syncProcess: " + e.getMessage());
 			e.printStackTrace();
+			return false;
 		}
 	}
 
@@ -550,34 +1612,101 @@ public class PreGenerator implements Listener {
 			}
 			task.totalChunksProcessed.increment();
 			task.chunksThisCycle.increment();
+			sessionChunks.increment();
 		} catch (Exception e) {
 			exceptionMsg("Exception in handleChunkBukkit: " + e.getMessage());
 			e.printStackTrace();
+			if (!retryOrRecordFailure(task, chunkX, chunkZ, false)) markChunkProcessed(task);
 		}
 	}
 
 	/**
-	 * Loads a chunk on Paper through the urgent async safety path.
+	 * Loads a chunk on Paper through the async safety path, urgent unless coexisting with players.
 	 */
 	private CompletableFuture<Void> getChunkAsyncWithSafety(PreGenerationTask task, int chunkX, int chunkZ, boolean gen) {
 		if (!task.enabled) return CompletableFuture.completedFuture(null);
-		return ChunkSafety.generateAndUnload(task.world, chunkX, chunkZ, gen);
+		if (task.retention == null) {
+			return ChunkSafety.generateAndUnload(task.world, chunkX, chunkZ, gen, urgent());
+		}
+		return ChunkSafety.generate(task.world, chunkX, chunkZ, gen, urgent()).thenAccept(chunk -> retainOrUnload(task, chunk, chunkX, chunkZ));
+	}
+
+	/**
+	 * Keeps a generated chunk loaded with a plugin ticket while its neighbors are pending, otherwise queues it for unload.
+	 * The ticket is only added on the thread that owns the chunk; elsewhere the chunk is simply unloaded.
+	 */
+	private void retainOrUnload(PreGenerationTask task, Chunk chunk, int chunkX, int chunkZ) {
+		if (chunk == null || !chunk.isLoaded()) return;
+		RetentionWindow retention = task.retention;
+		boolean retained = retention != null
+				&& task.enabled
+				&& ownsChunk(task, chunkX, chunkZ)
+				&& retention.complete(MortonCode.encode(chunkX, chunkZ))
+				&& task.world.addPluginChunkTicket(chunkX, chunkZ, plugin);
+		if (!retained) {
+			unloadChunk(task, chunkX, chunkZ);
+		}
+		if (retention != null) {
+			releaseRetained(task, retention.pollReleaseBatch());
+		}
+	}
+
+	private static boolean ownsChunk(PreGenerationTask task, int chunkX, int chunkZ) {
+		return IS_FOLIA ? Bukkit.isOwnedByCurrentRegion(task.world, chunkX, chunkZ) : Bukkit.isPrimaryThread();
+	}
+
+	private void unloadChunk(PreGenerationTask task, int chunkX, int chunkZ) {
+		UnloadDispatcher dispatcher = task.unloadDispatcher;
+		if (dispatcher != null) {
+			dispatcher.unload(chunkX, chunkZ);
+		} else {
+			task.world.unloadChunkRequest(chunkX, chunkZ);
+		}
+	}
+
+	/**
+	 * Hands retained chunks to the unload dispatcher, which drops their plugin ticket on the thread that owns them.
+	 */
+	private void releaseRetained(PreGenerationTask task, long[] keys) {
+		if (keys.length == 0 || task.unloadDispatcher == null) return;
+		task.unloadDispatcher.release(keys);
 	}
 
 	/**
 	 * Loads a chunk on Paper using the async API directly.
+	 *
+	 * @return true if the chunk should be counted as processed now
 	 */
-	private void getChunkAsync(PreGenerationTask task, int chunkX, int chunkZ, boolean gen) {
-		if (!task.enabled) return;
+	private boolean getChunkAsync(PreGenerationTask task, int chunkX, int chunkZ, boolean gen) {
+		if (!task.enabled) return false;
+		long key = MortonCode.encode(chunkX, chunkZ);
+		task.watchdog.track(key);
 		try {
-			task.world.getChunkAtAsync(chunkX, chunkZ, gen, chunk -> {
-				if (chunk != null && chunk.isLoaded()) {
-					task.world.unloadChunkRequest(chunkX, chunkZ);
+			StatusChunkLoader loader = task.statusLoader;
+			if (loader != null && gen) {
+				CompletableFuture<Boolean> future = loader.generate(task.world, chunkX, chunkZ, false);
+				task.watchdog.attach(key, future);
+				future.whenComplete((generated, ex) -> {
+					if (task.watchdog.complete(key) && !Boolean.TRUE.equals(generated)) {
+						retryOrRecordFailure(task, chunkX, chunkZ, true);
+					}
+				});
+				return true;
+			}
+			CompletableFuture<Chunk> future = task.world.getChunkAtAsync(chunkX, chunkZ, gen);
+			task.watchdog.attach(key, future);
+			future.whenComplete((chunk, ex) -> {
+				retainOrUnload(task, chunk, chunkX, chunkZ);
+				if (task.watchdog.complete(key) && chunk == null) {
+					retryOrRecordFailure(task, chunkX, chunkZ, true);
 				}
 			});
+			return true;
 		} catch (Exception e) {
 			exceptionMsg("Exception in getChunkAsync: " + e.getMessage());
 			e.printStackTrace();
+			task.watchdog.complete(key);
+			return !retryOrRecordFailure(task, chunkX, chunkZ, false);
 		}
 	}
 
@@ -585,6 +1714,7 @@ public class PreGenerator implements Listener {
 		if (!task.enabled) return;
 		task.totalChunksProcessed.increment();
 		task.chunksThisCycle.increment();
+		sessionChunks.increment();
 		completionCheck(task);
 	}
 
@@ -595,6 +1725,11 @@ public class PreGenerator implements Listener {
 		save.state(plugin, task);
 	}
 
+	private void onRegionCompleted(PreGenerationTask task) {
+		saveTaskState(task);
+		if (task.savePacer != null) task.savePacer.regionCompleted();
+	}
+
 	/**
 	 * Marks that generation should stop after finishing the current region.
 	 */
@@ -603,22 +1738,105 @@ public class PreGenerator implements Listener {
 		completeTaskIfReady(task);
 	}
 
+	@EventHandler
+	private void onWorldLoad(WorldLoadEvent event) {
+		WorldIdManager.cache(event.getWorld());
+	}
+
+	@EventHandler
+	private void onWorldUnload(WorldUnloadEvent event) {
+		WorldIdManager.forget(event.getWorld());
+	}
+
 	/**
-	 * Handles chunk load events while generation is active.
+	 * Republishes the task array read by the chunk load listener, then updates the listener and the warm set on the
+	 * main or global thread, since tasks also finish on async and region threads. Must be called while holding {@code tasksLock}.
 	 */
-	@EventHandler(priority = EventPriority.HIGHEST)
-	private void onChunkLoad(ChunkLoadEvent event) {
-		try {
-			PreGenerationTask task;
-			int worldId = WorldIdManager.getWorldId(event.getWorld());
-			synchronized (tasksLock) {
-				task = tasks.get(worldId);
+	private void publishTasks() {
+		int size = 0;
+		for (PreGenerationTask task : tasks.values()) {
+			size = Math.max(size, task.worldId + 1);
+		}
+		PreGenerationTask[] published = new PreGenerationTask[size];
+		for (PreGenerationTask task : tasks.values()) {
+			published[task.worldId] = task;
+		}
+		activeTasks = published;
+
+		if (!IS_FOLIA && Bukkit.isPrimaryThread()) {
+			syncChunkLoadListener();
+		} else if (plugin.isEnabled()) {
+			if (IS_FOLIA) {
+				Bukkit.getGlobalRegionScheduler().execute(plugin, this::syncChunkLoadListener);
+			} else {
+				Bukkit.getScheduler().runTask(plugin, this::syncChunkLoadListener);
+			}
+		}
+	}
+
+	/**
+	 * Registers the chunk load listener only while at least one task exists. The warm set is released when generation
+	 * starts and re-warmed when it stops on an empty server. Runs on the main or global thread.
+	 */
+	private void syncChunkLoadListener() {
+		boolean running = false;
+		for (PreGenerationTask task : activeTasks) {
+			if (task != null) {
+				running = true;
+				break;
+			}
+		}
+		if (running && !chunkLoadListenerRegistered) {
+			plugin.getServer().getPluginManager().registerEvents(chunkLoadListener, plugin);
+			chunkLoadListenerRegistered = true;
+			if (warmSet != null) warmSet.release();
+		} else if (!running && chunkLoadListenerRegistered) {
+			HandlerList.unregisterAll(chunkLoadListener);
+			chunkLoadListenerRegistered = false;
+			if (warmSet != null && !shuttingDown && Bukkit.getOnlinePlayers().isEmpty()) warmSet.rewarm();
+		}
+	}
+
+	/**
+	 * Tells whether the running task of a world has already passed a chunk, so destination generation can skip it.
+	 * Only spiral tasks with a known center answer; replayed tasks and chunks outside the task's bounds never count as covered.
+	 */
+	private boolean coveredByTask(World world, int chunkX, int chunkZ) {
+		PreGenerationTask[] published = activeTasks;
+		int worldId = WorldIdManager.idOf(world);
+		if (worldId >= published.length) return false;
+		PreGenerationTask task = published[worldId];
+		if (task == null || !task.enabled || task.replay || !task.stateHasCenter) return false;
+		if (task.lanes != null) {
+			GenerationLane lane = GenerationLane.laneFor(task.lanes, chunkX, chunkZ);
+			return lane != null && lane.hasPassed(chunkX, chunkZ);
+		}
+		if (task.hasChunkBounds && (chunkX < task.minChunkX || chunkX > task.maxChunkX || chunkZ < task.minChunkZ || chunkZ > task.maxChunkZ)) {
+			return false;
+		}
+		int centerRegionX = Math.floorDiv(Math.floorDiv(task.centerBlockX, 16), 32);
+		int centerRegionZ = Math.floorDiv(Math.floorDiv(task.centerBlockZ, 16), 32);
+		return task.chunkIterator.hasPassedRegion(centerRegionX, centerRegionZ, chunkX >> 5, chunkZ >> 5);
+	}
+
+	/**
+	 * Handles chunk load events while generation is active. Registered only while tasks exist,
+	 * and looks the task up in a dense array without taking a lock.
+	 */
+	private final class ChunkLoadListener implements Listener {
+		@EventHandler(priority = EventPriority.HIGHEST)
+		private void onChunkLoad(ChunkLoadEvent event) {
+			try {
+				PreGenerationTask[] published = activeTasks;
+				int worldId = WorldIdManager.idOf(event.getWorld());
+				if (worldId >= published.length) return;
+				PreGenerationTask task = published[worldId];
+				if (task == null || !task.enabled) return;
+				handleChunkLoad(task, event);
+			} catch (Exception e) {
+				exceptionMsg("Exception in onChunkLoad: " + e.getMessage());
+				e.printStackTrace();
 			}
-			if (task == null || !task.enabled) return;
-			handleChunkLoad(task, event);
-		} catch (Exception e) {
-			exceptionMsg("Exception in onChunkLoad: " + e.getMessage());
-			e.printStackTrace();
 		}
 	}
 
@@ -635,16 +1853,14 @@ public class PreGenerator implements Listener {
 			int chunkZ = chunk.getZ();
 			long key = MortonCode.encode(chunkX, chunkZ);
 
-			synchronized (task.playerChunkLock) {
-				if (task.playerLoadedChunks.contains(key) || task.pinnedNewChunks.contains(key)) {
-					return;
-				}
+			if (task.protection.isProtected(chunkX, chunkZ) || task.protection.isPinned(key)) {
+				return;
+			}
 
-				if (!event.isNewChunk()) {
-					task.world.unloadChunkRequest(chunkX, chunkZ);
-				} else {
-					task.pinnedNewChunks.add(key);
-				}
+			if (!event.isNewChunk()) {
+				unloadChunk(task, chunkX, chunkZ);
+			} else {
+				task.protection.pin(key);
 			}
 		} catch (Exception e) {
 			exceptionMsg("Exception in handleChunkLoad: " + e.getMessage());
@@ -652,6 +1868,66 @@ public class PreGenerator implements Listener {
 		}
 	}
 
+	/**
+	 * Completion of one Folia chunk load. Runs in place on the region thread that owns the chunk
+	 * and only hops through the region scheduler if the future completed elsewhere.
+	 */
+	private final class FoliaChunkRequest implements BiConsumer<Chunk, Throwable>, Runnable {
+		private final PreGenerationTask task;
+		private final long key;
+		private final int chunkX;
+		private final int chunkZ;
+		private Chunk chunk;
+		private boolean generated;
+		private Throwable failure;
+
+		private FoliaChunkRequest(PreGenerationTask task, long key) {
+			this.task = task;
+			this.key = key;
+			this.chunkX = MortonCode.getX(key);
+			this.chunkZ = MortonCode.getZ(key);
+		}
+
+		@Override
+		public void accept(Chunk chunk, Throwable failure) {
+			this.chunk = chunk;
+			this.failure = failure;
+			if (failure == null && task.enabled && !Bukkit.isOwnedByCurrentRegion(task.world, chunkX, chunkZ)) {
+				Bukkit.getRegionScheduler().execute(plugin, task.world, chunkX, chunkZ, this);
+				return;
+			}
+			run();
+		}
+
+		/**
+		 * Completes a chunk system request; there is no Bukkit chunk to retain or unload, so no hop to the owning region.
+		 */
+		private void generated(Boolean generated, Throwable failure) {
+			this.generated = Boolean.TRUE.equals(generated);
+			this.failure = failure;
+			run();
+		}
+
+		@Override
+		public void run() {
+			if (!task.enabled || failure instanceof CancellationException) return;
+			if (failure != null) {
+				exceptionMsg("Async chunk load exception in processFoliaGroup: " + failure.getMessage());
+				failure.printStackTrace();
+				if (!task.watchdog.complete(key)) return;
+				releaseLaneSlot(task, key);
+				if (!retryOrRecordFailure(task, chunkX, chunkZ, false)) markChunkProcessed(task);
+				return;
+			}
+			retainOrUnload(task, chunk, chunkX, chunkZ);
+			if (!task.watchdog.complete(key)) return;
+			GenerationLane lane = releaseLaneSlot(task, key);
+			if (chunk == null && !generated && retryOrRecordFailure(task, chunkX, chunkZ, false)) return;
+			if (lane != null) lane.completed.increment();
+			markChunkProcessed(task);
+		}
+	}
+
 	/**
 	 * Checks if the server is running on Paper.
 	 */
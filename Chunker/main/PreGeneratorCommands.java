@@ -13,6 +13,7 @@ import org.bukkit.plugin.java.JavaPlugin;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -22,7 +23,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import static main.ConsoleColorUtils.*;
 
 /**
- * Handles the /pregen, /pregenoff and /chunker reset [world] commands for chunk pre-generation.
+ * Handles the /pregen, /pregenoff, /pregen reset [world] and /pregen replay [world] commands for chunk pre-generation.
  */
 public class PreGeneratorCommands implements CommandExecutor, TabCompleter {
 	private final PreGenerator preGenerator;
@@ -38,6 +39,7 @@ public class PreGeneratorCommands implements CommandExecutor, TabCompleter {
 	private static final int TICKS_PER_MINUTE = TICKS_PER_SECOND * 60;
 	private static final int TICKS_PER_HOUR   = TICKS_PER_MINUTE * 60;
 	private static final long GENERATION_EDGE_COMPENSATION_CHUNKS = 2L;
+	private static final long AUTO_RUN_WORLD_LOAD_INTERVAL_TICKS = 40L;
 
 
 	private final Set<String> activePreGenWorlds = ConcurrentHashMap.newKeySet();
@@ -69,10 +71,14 @@ public class PreGeneratorCommands implements CommandExecutor, TabCompleter {
 				}
 				return true;
 			}
+			if (args.length == 2 && args[0].equalsIgnoreCase("replay")) {
+				handleReplayCommand(sender, args[1]);
+				return true;
+			}
 			if (args.length == 4 || args.length == 5) {
 				handleEnableCommand(sender, args);
 			} else {
-				colorMessage(sender, RED, COMMAND_USAGE + "\n/pregen reset <world>");
+				colorMessage(sender, RED, COMMAND_USAGE + "\n/pregen reset <world>\n/pregen replay <world>");
 			}
 			return true;
 		}
@@ -141,6 +147,36 @@ public class PreGeneratorCommands implements CommandExecutor, TabCompleter {
 		}
 	}
 
+	/**
+	 * Replays the chunks recorded in a world's failure ledger using the world's configured settings.
+	 */
+	private void handleReplayCommand(CommandSender sender, String requestedWorld) {
+		World world = resolveWorld(sender, requestedWorld, true);
+		if (world == null) {
+			colorMessage(sender, RED, "World not found: " + requestedWorld);
+			return;
+		}
+		String worldName = WorldRegistry.id(world);
+		if (activePreGenWorlds.contains(worldName)) {
+			colorMessage(sender, YELLOW, worldName + " " + ENABLED_WARNING);
+			return;
+		}
+
+		int multiplier = configuredMultiplier(worldName);
+		int threadCount = multiplier > 0 ? multiplier : PluginSettings.getAvailableProcessors();
+		int printTicks = parseDelay(PluginSettings.getPrintUpdateDelay(worldName));
+		if (printTicks <= 0) {
+			printTicks = 100;
+			delayUnit = 's';
+			delayAmount = 5;
+		}
+
+		boolean started = preGenerator.replay(sender, threadCount, delayUnit, delayAmount, printTicks, world);
+		if (started) {
+			activePreGenWorlds.add(worldName);
+		}
+	}
+
 	/**
 	 * Turns off pre-gen for one world or all worlds.
 	 */
@@ -263,87 +299,127 @@ public class PreGeneratorCommands implements CommandExecutor, TabCompleter {
 	 * Auto-loads and kicks off pre-gen for any worlds with auto_run=true.
 	 * Now takes a sender so messages go to console or player correctly.
 	 */
-	public void checkAndRunAutoPreGenerators(CommandSender sender) {
+	public void checkAndRunAutoPreGenerators(CommandSender sender, TaskScheduler scheduler) {
 		if (!PluginSettings.isInitialized()) {
 			colorMessage(sender, YELLOW, "Settings not initialized, skipping auto-pregeneration");
 			return;
 		}
 
 		List<String> allWorldNames = getAllWorldNames();
-
-		for (String worldName : allWorldNames) {
-			if (PluginSettings.getAutoRun(worldName) && WorldRegistry.resolveWorld(worldName, false) == null) {
-				colorMessage(sender, GREEN, "Loading world '" + worldName + "' for auto pregeneration...");
-				WorldRegistry.resolveWorld(worldName, true);
-			}
-		}
 		int totalCores = PluginSettings.getAvailableProcessors();
 		int autoCount  = 0;
 		Object2IntOpenHashMap<String> coresByWorld = new Object2IntOpenHashMap<>();
 
 		for (String name : allWorldNames) {
 			if (!PluginSettings.getAutoRun(name)) continue;
-			String mult = PluginSettings.getParallelTasksMultiplier(name);
-			if (!"auto".equalsIgnoreCase(mult)) {
-				try {
-					int c = Integer.parseInt(mult);
-					coresByWorld.put(name, c);
-					totalCores -= c;
-				} catch (NumberFormatException e) {
-					colorMessage(sender, YELLOW, "Invalid parallel_tasks_multiplier for " + name + ", using auto");
-					autoCount++;
-				}
+			int multiplier = configuredMultiplier(name);
+			if (multiplier > 0) {
+				coresByWorld.put(name, multiplier);
+				totalCores -= multiplier;
 			} else {
+				if (multiplier < 0) colorMessage(sender, YELLOW, "Invalid parallel_tasks_multiplier for " + name + ", using auto");
 				autoCount++;
 			}
 		}
 		int coresPerAuto = autoCount > 0 ? Math.max(1, totalCores / autoCount) : 0;
 		for (String name : allWorldNames) {
-			if (PluginSettings.getAutoRun(name)
-					&& "auto".equalsIgnoreCase(PluginSettings.getParallelTasksMultiplier(name))) {
+			if (PluginSettings.getAutoRun(name) && !coresByWorld.containsKey(name)) {
 				coresByWorld.put(name, coresPerAuto);
 			}
 		}
 		if (coresByWorld.isEmpty()) return;
 		boolean noPlayers = Bukkit.getOnlinePlayers().isEmpty();
 
+		ArrayDeque<String> unloaded = new ArrayDeque<>();
 		for (Object2IntMap.Entry<String> entry : coresByWorld.object2IntEntrySet()) {
 			if (!noPlayers) break;
 			String worldName = entry.getKey();
 			World world = WorldRegistry.resolveWorld(worldName, false);
-			if (world == null) continue;
-			currentBorderChunks = calculateChunksInBorder(world);
-			String radiusConfig = PluginSettings.getRadius(worldName);
-			long chunks = parseRadius(radiusConfig);
-
-			if (chunks <= 0) {
-				colorMessage(sender, YELLOW, "Invalid radius for " + worldName + " (got " + chunks + " chunks), skipping");
+			if (world == null) {
+				unloaded.addLast(worldName);
 				continue;
 			}
+			startAutoRun(sender, worldName, world, entry.getIntValue());
+		}
+		if (!unloaded.isEmpty()) {
+			scheduler.scheduleDelayed(() -> loadNextAutoRunWorld(sender, scheduler, unloaded, coresByWorld), AUTO_RUN_WORLD_LOAD_INTERVAL_TICKS);
+		}
+	}
 
-			int printTicks = parseDelay(PluginSettings.getPrintUpdateDelay(worldName));
-			if (printTicks <= 0) {
-				colorMessage(sender, YELLOW, "Invalid print_update_delay for " + worldName + ", using 5s");
-				printTicks = 100;
-				delayUnit = 's';
-				delayAmount = 5;
+	/**
+	 * Loads one queued auto-run world without spawn preparation, starts its task, and leaves the next world for a later tick,
+	 * so generation in loaded worlds is already running while the rest load. Stops once a player is online.
+	 */
+	private void loadNextAutoRunWorld(CommandSender sender, TaskScheduler scheduler, ArrayDeque<String> pending, Object2IntOpenHashMap<String> coresByWorld) {
+		String worldName = pending.pollFirst();
+		if (worldName == null || !Bukkit.getOnlinePlayers().isEmpty()) return;
+		colorMessage(sender, GREEN, "Loading world '" + worldName + "' for auto pregeneration" + (pending.isEmpty() ? "..." : " (" + pending.size() + " more queued)..."));
+		try {
+			World world = WorldRegistry.loadWithoutSpawn(worldName);
+			if (world != null) {
+				startAutoRun(sender, worldName, world, coresByWorld.getInt(worldName));
+			} else {
+				colorMessage(sender, YELLOW, "Could not load world '" + worldName + "', skipping");
 			}
+		} catch (Exception e) {
+			exceptionMsg("Exception loading world " + worldName + ": " + e.getMessage());
+			e.printStackTrace();
+		}
+		if (!pending.isEmpty()) {
+			scheduler.scheduleDelayed(() -> loadNextAutoRunWorld(sender, scheduler, pending, coresByWorld), AUTO_RUN_WORLD_LOAD_INTERVAL_TICKS);
+		}
+	}
 
-			boolean started = preGenerator.enable(
-					sender,
-					entry.getIntValue(),
-					delayUnit, delayAmount,
-					printTicks,
-					world,
-					chunks,
-					targetSideChunks,
-					false
-					);
+	/**
+	 * Reads a world's parallel_tasks_multiplier.
+	 *
+	 * @return the configured task count, 0 for auto, or -1 when the value is not a positive number
+	 */
+	private static int configuredMultiplier(String worldName) {
+		String mult = PluginSettings.getParallelTasksMultiplier(worldName);
+		if (mult == null) return -1;
+		if ("auto".equalsIgnoreCase(mult)) return 0;
+		try {
+			int count = Integer.parseInt(mult.trim());
+			return count > 0 ? count : -1;
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
 
-			if (started) {
-				activePreGenWorlds.add(worldName);
-				colorMessage(sender, GREEN, "pregeneration enabled for " + worldName + " with " + chunks + " chunks");
-			}
+	private void startAutoRun(CommandSender sender, String worldName, World world, int cores) {
+		currentBorderChunks = calculateChunksInBorder(world);
+		String radiusConfig = PluginSettings.getRadius(worldName);
+		long chunks = parseRadius(radiusConfig);
+
+		if (chunks <= 0) {
+			colorMessage(sender, YELLOW, "Invalid radius for " + worldName + " (got " + chunks + " chunks), skipping");
+			return;
+		}
+
+		int printTicks = parseDelay(PluginSettings.getPrintUpdateDelay(worldName));
+		if (printTicks <= 0) {
+			colorMessage(sender, YELLOW, "Invalid print_update_delay for " + worldName + ", using 5s");
+			printTicks = 100;
+			delayUnit = 's';
+			delayAmount = 5;
+		}
+
+		boolean started = preGenerator.enable(
+				sender,
+				cores,
+				configuredMultiplier(worldName) <= 0,
+				delayUnit, delayAmount,
+				printTicks,
+				world,
+				chunks,
+				targetSideChunks,
+				false
+				);
+
+		if (started) {
+			activePreGenWorlds.add(worldName);
+			colorMessage(sender, GREEN, "pregeneration enabled for " + worldName + " with " + chunks + " chunks");
 		}
 	}
 
@@ -378,11 +454,14 @@ public class PreGeneratorCommands implements CommandExecutor, TabCompleter {
 			) {
 		if (command.getName().equalsIgnoreCase("pregen")) {
 			if (args.length == 1) {
-				return List.of("<ParallelTasksMultiplier>", "reset");
+				return List.of("<ParallelTasksMultiplier>", "reset", "replay");
 			}
 			if (args.length == 2 && args[0].equalsIgnoreCase("reset")) {
 				return filterCompletions(getPregeneratorWorlds(plugin), args[1]);
 			}
+			if (args.length == 2 && args[0].equalsIgnoreCase("replay")) {
+				return filterCompletions(WorldRegistry.failureLedgerIds(plugin), args[1]);
+			}
 			if (args.length == 2) return List.of("<PrintUpdateDelayin(Seconds/Minutes/Hours)>");
 			if (args.length == 3) return filterCompletions(getWorldSuggestions(), args[2]);
 			if (args.length == 4) return List.of("<Radius(Blocks/Chunks/Regions)>", "default");
@@ -41,10 +41,43 @@ public class Print {
 		task.printScheduler.setEnabled(false);
 		long elapsedTime = (task.timerEnd - task.timerStart) / 1000;
 		logPlain("Total time: " + format(elapsedTime));
+		long failed = task.failedChunks.sum();
+		long stuck = task.stuckChunks.sum();
+		if (failed > 0 || stuck > 0) {
+			logPlain("Failed chunks: " + failed + " Stuck chunks: " + stuck);
+		}
+		long generated = task.totalChunksProcessed.sum() - task.processedAtStart;
+		if (elapsedTime > 0 && generated > 0) {
+			logPlain("Average: " + generated / elapsedTime + " chunks/s using " + submissionMode(task));
+		}
+		if (task.lanes != null) {
+			for (GenerationLane lane : task.lanes) {
+				long completed = lane.completed.sum();
+				logPlain("Lane " + lane.index + " (" + lane.minChunkX + "," + lane.minChunkZ + " to " + lane.maxChunkX + "," + lane.maxChunkZ + "): "
+						+ completed + " chunks, " + (elapsedTime > 0 ? completed / elapsedTime : completed) + " chunks/s");
+			}
+		}
+		long paused = TimeUnit.NANOSECONDS.toSeconds(task.pausedNanos.sum());
+		if (paused > 0) {
+			logPlain("Paused: " + format(paused));
+		}
+		if (task.savePacer != null) {
+			String saves = task.savePacer.summary();
+			if (saves != null) logPlain(saves);
+		}
+		if (task.unloadDispatcher != null) {
+			logPlain("Unloads queued: " + task.unloadDispatcher.queued.sum() + " Unloads executed: " + task.unloadDispatcher.executed.sum());
+		}
 		task.timerStart = 0;
 		task.timerEnd = 0;
 	}
 
+	private static String submissionMode(PreGenerationTask task) {
+		String mode = task.tileSize > 0 ? task.tileSize + "x" + task.tileSize + " tiles" : "per-chunk requests";
+		StatusChunkLoader loader = task.statusLoader;
+		return loader != null ? mode + " through the chunk system to " + loader.statusName() : mode + " through the chunk API";
+	}
+
 	/**
 	 * Formats elapsed time into a human-readable string.
 	 *
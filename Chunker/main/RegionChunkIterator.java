@@ -16,11 +16,18 @@ public final class RegionChunkIterator {
 	private int stepsRemaining = 1;
 	private int stepsToChange = 1;
 	private int chunkIndex;
+	private int tileCursor; // tile size getNextTile last left the chunk index aligned to, or 0
 	private boolean bounded;
 	private int minChunkX;
 	private int maxChunkX;
 	private int minChunkZ;
 	private int maxChunkZ;
+	private boolean centerKnown;
+	private int centerRegionX;
+	private int centerRegionZ;
+	private HeatRingOrder order;
+	private int mappedRegionX;
+	private int mappedRegionZ;
 
 	/**
 	 * Retrieves the next chunk coordinates in the spiral order.
@@ -34,19 +41,76 @@ public final class RegionChunkIterator {
 				moveToNextRegion();
 				chunkIndex = 0;
 				if (isTraversalComplete()) {
+					chunkIndex = MAX_CHUNK_INDEX + 1;
 					return null;
 				}
 				regionCompleted = true;
 			}
+			if (chunkIndex == 0 && bounded && !regionIntersectsBounds()) {
+				chunkIndex = MAX_CHUNK_INDEX + 1;
+				continue;
+			}
 
 			NextChunkResult result = newResult(regionCompleted);
 			chunkIndex++;
+			tileCursor = 0;
 			if (!bounded || isInsideBounds(result.chunkX, result.chunkZ)) {
 				return result;
 			}
 		}
 	}
 
+	/**
+	 * Retrieves the next square tile of chunks in the spiral order, clipped to the bounds.
+	 * The chunk index is left on the first chunk of the following tile, so saved state stays usable by chunk traversal.
+	 * An index not left by this method, such as one saved by chunk traversal, has finished every chunk before it in chunk
+	 * order, so the rest of its column and the columns up to the next tile boundary are returned one column wide,
+	 * starting at the index, until the tiles line up again.
+	 *
+	 * @param tileSize tile side in chunks, a power of two no larger than a region
+	 * @return the next tile, or null if traversal is complete
+	 */
+	public synchronized Tile getNextTile(int tileSize) {
+		boolean regionCompleted = false;
+		while (true) {
+			if (chunkIndex > MAX_CHUNK_INDEX) {
+				moveToNextRegion();
+				chunkIndex = 0;
+				if (isTraversalComplete()) {
+					chunkIndex = MAX_CHUNK_INDEX + 1;
+					return null;
+				}
+				regionCompleted = true;
+			}
+			if (chunkIndex == 0 && bounded && !regionIntersectsBounds()) {
+				chunkIndex = MAX_CHUNK_INDEX + 1;
+				continue;
+			}
+
+			int localX = chunkIndex >> 5;
+			int localZ = chunkIndex & REGION_MASK;
+			boolean aligned = localX % tileSize == 0 && (localZ == 0 || (tileCursor == tileSize && localZ % tileSize == 0));
+			int width = aligned ? tileSize : 1;
+			int height = aligned ? tileSize : tileSize - localZ % tileSize;
+			int nextLocalZ = localZ + height;
+			chunkIndex = nextLocalZ >= REGION_SIZE ? (localX + width) * REGION_SIZE : localX * REGION_SIZE + nextLocalZ;
+			tileCursor = aligned ? tileSize : 0;
+
+			int minX = (mappedRegionX << 5) + localX;
+			int minZ = (mappedRegionZ << 5) + localZ;
+			int maxX = minX + width - 1;
+			int maxZ = minZ + height - 1;
+			if (bounded) {
+				minX = Math.max(minX, minChunkX);
+				minZ = Math.max(minZ, minChunkZ);
+				maxX = Math.min(maxX, maxChunkX);
+				maxZ = Math.min(maxZ, maxChunkZ);
+				if (minX > maxX || minZ > maxZ) continue;
+			}
+			return new Tile(minX, minZ, maxX, maxZ, regionCompleted);
+		}
+	}
+
 	/**
 	 * Advances the iterator to the next region using a spiral pattern.
 	 */
@@ -61,15 +125,61 @@ public final class RegionChunkIterator {
 		currentRegionX += DX[directionIndex];
 		currentRegionZ += DZ[directionIndex];
 		stepsRemaining--;
+		remap();
+	}
+
+	/**
+	 * Resolves the region generated for the current spiral slot.
+	 */
+	private void remap() {
+		if (order == null) {
+			mappedRegionX = currentRegionX;
+			mappedRegionZ = currentRegionZ;
+			return;
+		}
+		long mapped = order.map(currentRegionX, currentRegionZ);
+		mappedRegionX = MortonCode.getX(mapped);
+		mappedRegionZ = MortonCode.getZ(mapped);
+	}
+
+	/**
+	 * Generates each ring in the given order instead of plain spiral order; null restores the plain spiral.
+	 * The saved spiral state is unchanged, so a resumed run must use the same order.
+	 */
+	public synchronized void setRegionOrder(HeatRingOrder order) {
+		this.order = order;
+		remap();
 	}
 
 	/**
 	 * Determines if the overall traversal is complete.
+	 * A bounded spiral with a known center is complete once its ring has passed every region of the bounds.
 	 *
-	 * @return false by default
+	 * @return false for unbounded spirals and for spirals restored without their center
 	 */
 	private boolean isTraversalComplete() {
-		return false;
+		if (!bounded || !centerKnown) return false;
+		int ring = Math.max(Math.abs(currentRegionX - centerRegionX), Math.abs(currentRegionZ - centerRegionZ));
+		int lastRing = Math.max(
+				Math.max(Math.abs((minChunkX >> 5) - centerRegionX), Math.abs((maxChunkX >> 5) - centerRegionX)),
+				Math.max(Math.abs((minChunkZ >> 5) - centerRegionZ), Math.abs((maxChunkZ >> 5) - centerRegionZ)));
+		return ring > lastRing;
+	}
+
+	/**
+	 * Determines if the spiral around the given center has already moved past the ring holding a region.
+	 * Heat ordering only reorders regions within a ring, so the answer holds for ordered spirals too.
+	 */
+	public synchronized boolean hasPassedRegion(int centerRegionX, int centerRegionZ, int regionX, int regionZ) {
+		int ring = Math.max(Math.abs(regionX - centerRegionX), Math.abs(regionZ - centerRegionZ));
+		int currentRing = Math.max(Math.abs(currentRegionX - centerRegionX), Math.abs(currentRegionZ - centerRegionZ));
+		return ring < currentRing;
+	}
+
+	private boolean regionIntersectsBounds() {
+		int regionMinX = mappedRegionX << 5;
+		int regionMinZ = mappedRegionZ << 5;
+		return regionMinX + REGION_MASK >= minChunkX && regionMinX <= maxChunkX && regionMinZ + REGION_MASK >= minChunkZ && regionMinZ <= maxChunkZ;
 	}
 
 	private boolean isInsideBounds(int chunkX, int chunkZ) {
@@ -79,8 +189,8 @@ public final class RegionChunkIterator {
 	private NextChunkResult newResult(boolean regionCompleted) {
 		int localX = chunkIndex >> 5;
 		int localZ = chunkIndex & REGION_MASK;
-		int globalX = (currentRegionX << 5) + localX;
-		int globalZ = (currentRegionZ << 5) + localZ;
+		int globalX = (mappedRegionX << 5) + localX;
+		int globalZ = (mappedRegionZ << 5) + localZ;
 		return new NextChunkResult(globalX, globalZ, regionCompleted);
 	}
 
@@ -88,12 +198,15 @@ public final class RegionChunkIterator {
 	 * Resets the iterator to its initial state at region 0,0.
 	 */
 	public synchronized void reset() {
+		centerKnown = false;
+		order = null;
 		currentRegionX = 0;
 		currentRegionZ = 0;
 		directionIndex = 0;
 		stepsRemaining = 1;
 		stepsToChange = 1;
 		chunkIndex = 0;
+		remap();
 	}
 
 	/**
@@ -103,12 +216,16 @@ public final class RegionChunkIterator {
 	 * @param regionZ starting region z coordinate
 	 */
 	public synchronized void setCenterRegion(int regionX, int regionZ) {
+		centerKnown = true;
+		centerRegionX = regionX;
+		centerRegionZ = regionZ;
 		currentRegionX = regionX;
 		currentRegionZ = regionZ;
 		directionIndex = 0;
 		stepsRemaining = 1;
 		stepsToChange = 1;
 		chunkIndex = 0;
+		remap();
 	}
 
 	public synchronized void setChunkBounds(int minChunkX, int maxChunkX, int minChunkZ, int maxChunkZ) {
@@ -140,6 +257,8 @@ public final class RegionChunkIterator {
 		this.stepsRemaining = Math.max(0, stepsRemaining);
 		this.stepsToChange = Math.max(1, stepsToChange);
 		this.chunkIndex = clampChunkIndex(chunkIndex);
+		this.tileCursor = 0;
+		remap();
 	}
 
 	public synchronized int getCurrentRegionX() {
@@ -174,6 +293,29 @@ public final class RegionChunkIterator {
 		return Math.min(value, MAX_CHUNK_INDEX);
 	}
 
+	/**
+	 * Rectangle of chunks handed to the server as one ranged request.
+	 */
+	public static final class Tile {
+		public final int minChunkX;
+		public final int minChunkZ;
+		public final int maxChunkX;
+		public final int maxChunkZ;
+		public final boolean regionCompleted;
+
+		public Tile(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ, boolean regionCompleted) {
+			this.minChunkX = minChunkX;
+			this.minChunkZ = minChunkZ;
+			this.maxChunkX = maxChunkX;
+			this.maxChunkZ = maxChunkZ;
+			this.regionCompleted = regionCompleted;
+		}
+
+		public int count() {
+			return (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+		}
+	}
+
 	/**
 	 * Represents the next chunk coordinates, kept primitive to avoid ChunkPos and boxed Long churn in the hot path.
 	 */
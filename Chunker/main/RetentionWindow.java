@@ -0,0 +1,173 @@
+package main;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+/**
+ * Bounded window of generated chunks that stay loaded until their traversal neighbors are done,
+ * so generating a neighbor does not read the same chunk back from disk.
+ * Chunks leave the window in batches, either when every neighbor is done or when the window is full.
+ */
+public final class RetentionWindow {
+	private static final int[] NEIGHBOR_DX = {-1, 0, 1, -1, 1, -1, 0, 1};
+	private static final int[] NEIGHBOR_DZ = {-1, -1, -1, 0, 0, 1, 1, 1};
+	private static final long[] NO_CHUNKS = new long[0];
+
+	private final Long2IntOpenHashMap pendingNeighbors = new Long2IntOpenHashMap();
+	private final LongArrayFIFOQueue retainOrder = new LongArrayFIFOQueue();
+	private final LongOpenHashSet recentlyDone = new LongOpenHashSet();
+	private final LongArrayFIFOQueue recentOrder = new LongArrayFIFOQueue();
+	private final LongArrayList releaseBatch = new LongArrayList();
+	private final int releaseBatchSize;
+	private int capacity;
+	private boolean bounded;
+	private int minChunkX;
+	private int maxChunkX;
+	private int minChunkZ;
+	private int maxChunkZ;
+
+	/**
+	 * @param capacity         maximum number of chunks held at once
+	 * @param releaseBatchSize number of released chunks collected before they are handed back
+	 */
+	public RetentionWindow(int capacity, int releaseBatchSize) {
+		this.capacity = Math.max(0, capacity);
+		this.releaseBatchSize = Math.max(1, releaseBatchSize);
+		pendingNeighbors.defaultReturnValue(-1);
+	}
+
+	/**
+	 * Limits neighbor tracking to the task's target area; neighbors outside it count as done.
+	 */
+	public synchronized void setChunkBounds(int minChunkX, int maxChunkX, int minChunkZ, int maxChunkZ) {
+		this.minChunkX = minChunkX;
+		this.maxChunkX = maxChunkX;
+		this.minChunkZ = minChunkZ;
+		this.maxChunkZ = maxChunkZ;
+		this.bounded = true;
+	}
+
+	public synchronized void clearChunkBounds() {
+		this.bounded = false;
+	}
+
+	/**
+	 * Changes how many chunks the window may hold. Chunks above the new capacity are released on the next call to {@link #complete(long)}.
+	 */
+	public synchronized void setCapacity(int capacity) {
+		this.capacity = Math.max(0, capacity);
+	}
+
+	public synchronized int capacity() {
+		return capacity;
+	}
+
+	/**
+	 * @return number of chunks currently held
+	 */
+	public synchronized int size() {
+		return pendingNeighbors.size();
+	}
+
+	/**
+	 * Records a generated chunk.
+	 *
+	 * @param key packed chunk key
+	 * @return true if the caller should keep the chunk loaded, false if it should be released right away
+	 */
+	public synchronized boolean complete(long key) {
+		markDone(key);
+		int chunkX = MortonCode.getX(key);
+		int chunkZ = MortonCode.getZ(key);
+		int pending = 0;
+		for (int i = 0; i < NEIGHBOR_DX.length; i++) {
+			int neighborX = chunkX + NEIGHBOR_DX[i];
+			int neighborZ = chunkZ + NEIGHBOR_DZ[i];
+			long neighbor = MortonCode.encode(neighborX, neighborZ);
+			int remaining = pendingNeighbors.get(neighbor);
+			if (remaining > 0) {
+				if (remaining == 1) {
+					pendingNeighbors.remove(neighbor);
+					releaseBatch.add(neighbor);
+				} else {
+					pendingNeighbors.put(neighbor, remaining - 1);
+				}
+			}
+			if (isInsideBounds(neighborX, neighborZ) && !recentlyDone.contains(neighbor)) {
+				pending++;
+			}
+		}
+
+		boolean retained = pending > 0 && capacity > 0;
+		if (retained) {
+			pendingNeighbors.put(key, pending);
+			retainOrder.enqueue(key);
+		}
+		evictOverCapacity();
+		return retained;
+	}
+
+	/**
+	 * Hands back the chunks released so far once a full batch has collected.
+	 *
+	 * @return chunks the caller should release, or an empty array while the batch is still filling
+	 */
+	public synchronized long[] pollReleaseBatch() {
+		if (releaseBatch.size() < releaseBatchSize) return NO_CHUNKS;
+		return drainReleaseBatch();
+	}
+
+	/**
+	 * Empties the window, returning every chunk that still holds a ticket.
+	 */
+	public synchronized long[] releaseAll() {
+		for (long key : pendingNeighbors.keySet()) {
+			releaseBatch.add(key);
+		}
+		pendingNeighbors.clear();
+		retainOrder.clear();
+		recentlyDone.clear();
+		recentOrder.clear();
+		return drainReleaseBatch();
+	}
+
+	private long[] drainReleaseBatch() {
+		if (releaseBatch.isEmpty()) return NO_CHUNKS;
+		long[] released = releaseBatch.toLongArray();
+		releaseBatch.clear();
+		return released;
+	}
+
+	private void evictOverCapacity() {
+		while (pendingNeighbors.size() > capacity && !retainOrder.isEmpty()) {
+			long oldest = retainOrder.dequeueLong();
+			if (pendingNeighbors.remove(oldest) != -1) {
+				releaseBatch.add(oldest);
+			}
+		}
+		// Chunks released through their neighbors stay in the order queue; compact once stale entries dominate.
+		if (retainOrder.size() > Math.max(64, pendingNeighbors.size() * 2)) {
+			for (int i = 0, size = retainOrder.size(); i < size; i++) {
+				long key = retainOrder.dequeueLong();
+				if (pendingNeighbors.containsKey(key)) {
+					retainOrder.enqueue(key);
+				}
+			}
+		}
+	}
+
+	private void markDone(long key) {
+		if (!recentlyDone.add(key)) return;
+		recentOrder.enqueue(key);
+		int limit = Math.max(64, capacity * 2);
+		while (recentOrder.size() > limit) {
+			recentlyDone.remove(recentOrder.dequeueLong());
+		}
+	}
+
+	private boolean isInsideBounds(int chunkX, int chunkZ) {
+		return !bounded || (chunkX >= minChunkX && chunkX <= maxChunkX && chunkZ >= minChunkZ && chunkZ <= maxChunkZ);
+	}
+}
@@ -16,12 +16,13 @@ public class Save {
 
 	/**
 	 * Saves the current state of the given PreGenerationTask to a file in the plugin's data folder.
+	 * Replay tasks leave the spiral state untouched.
 	 *
 	 * @param plugin the JavaPlugin instance
 	 * @param task   the PreGenerationTask whose state is to be saved
 	 */
 	public void state(JavaPlugin plugin, PreGenerationTask task) {
-		if (!task.enabled) {
+		if (!task.enabled || task.replay) {
 			return;
 		}
 		String worldName = task.worldName != null ? task.worldName : WorldRegistry.id(task.world);
@@ -49,5 +50,24 @@ public class Save {
 			e.printStackTrace();
 			exceptionMsg("Failed to save processed chunks for " + worldName + ": " + e.getMessage());
 		}
+		if (task.lanes != null) {
+			lanes(plugin, worldName, task.lanes);
+		}
+	}
+
+	/**
+	 * Saves the layout and spiral position of every Folia lane, one lane per line after the layout header.
+	 */
+	private void lanes(JavaPlugin plugin, String worldName, GenerationLane[] lanes) {
+		StringBuilder data = new StringBuilder(64 * (lanes.length + 1)).append(GenerationLane.layout(lanes));
+		for (GenerationLane lane : lanes) {
+			data.append('\n').append(lane.encode());
+		}
+		try {
+			Files.writeString(WorldRegistry.laneStateFile(plugin, worldName).toPath(), data, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+		} catch (IOException e) {
+			e.printStackTrace();
+			exceptionMsg("Failed to save lane state for " + worldName + ": " + e.getMessage());
+		}
 	}
 }
@@ -0,0 +1,117 @@
+package main;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static main.ConsoleColorUtils.*;
+
+/**
+ * Replaces the world autosave with a save every few completed regions while a task runs, so unsaved chunks never pile up
+ * into one long autosave. Admission is lowered while a save runs and for as long again afterwards, while the writes drain.
+ * Save latency is kept for the end-of-task summary.
+ */
+public final class SavePacer {
+	private static final ConcurrentHashMap<String, Boolean> SUSPENDED = new ConcurrentHashMap<>();
+
+	private final JavaPlugin plugin;
+	private final World world;
+	private final String worldId;
+	private final int regionsPerSave;
+	private final int throttleDivisor;
+	private final AtomicInteger regionsSinceSave = new AtomicInteger();
+	private final AtomicBoolean saving = new AtomicBoolean();
+	private volatile long throttledUntilNanos;
+	public final LongAdder saves = new LongAdder();
+	public final LongAdder saveNanos = new LongAdder();
+	public volatile long maxSaveNanos;
+
+	/**
+	 * Turns off the world's autosave until {@link #close()}. Must be called on the main thread.
+	 */
+	public SavePacer(JavaPlugin plugin, World world) {
+		this.plugin = plugin;
+		this.world = world;
+		this.worldId = WorldRegistry.id(world);
+		this.regionsPerSave = Math.max(1, PluginSettings.Tuning.SAVE_PACING_REGIONS_PER_SAVE.getInt());
+		this.throttleDivisor = Math.max(1, PluginSettings.Tuning.SAVE_PACING_THROTTLE_DIVISOR.getInt());
+		this.throttledUntilNanos = System.nanoTime();
+		SUSPENDED.put(worldId, world.isAutoSave());
+		world.setAutoSave(false);
+	}
+
+	/**
+	 * @return the autosave setting a world had before a running pacer turned it off, or its current setting
+	 */
+	public static boolean originalAutoSave(World world) {
+		Boolean original = SUSPENDED.get(WorldRegistry.id(world));
+		return original != null ? original : world.isAutoSave();
+	}
+
+	/**
+	 * Sets a world's autosave, or, while a pacer holds it off, the value the pacer gives back when it closes.
+	 * Other features that change autosave go through here so the pacer never undoes them.
+	 */
+	public static void setAutoSave(World world, boolean autoSave) {
+		if (SUSPENDED.computeIfPresent(WorldRegistry.id(world), (_, _) -> autoSave) == null) {
+			world.setAutoSave(autoSave);
+		}
+	}
+
+	/**
+	 * Counts a completed region and saves the world on the main thread once enough have completed.
+	 */
+	public void regionCompleted() {
+		if (regionsSinceSave.incrementAndGet() < regionsPerSave || !saving.compareAndSet(false, true)) return;
+		regionsSinceSave.set(0);
+		Bukkit.getScheduler().runTask(plugin, () -> {
+			long start = System.nanoTime();
+			try {
+				world.save();
+			} catch (Exception e) {
+				exceptionMsg("Exception saving " + worldId + ": " + e.getMessage());
+				e.printStackTrace();
+			} finally {
+				long end = System.nanoTime();
+				long elapsed = end - start;
+				saves.increment();
+				saveNanos.add(elapsed);
+				if (elapsed > maxSaveNanos) maxSaveNanos = elapsed;
+				throttledUntilNanos = end + elapsed;
+				saving.set(false);
+			}
+		});
+	}
+
+	/**
+	 * @return {@code wanted} reduced by the configured divisor while a save runs or drains, at least 1
+	 */
+	public int throttle(int wanted) {
+		if (wanted <= 0 || (!saving.get() && System.nanoTime() - throttledUntilNanos >= 0L)) return wanted;
+		return Math.max(1, wanted / throttleDivisor);
+	}
+
+	/**
+	 * @return a summary of the saves made, or null if none were made
+	 */
+	public String summary() {
+		long count = saves.sum();
+		if (count == 0L) return null;
+		return "World saves: " + count + " Average: " + TimeUnit.NANOSECONDS.toMillis(saveNanos.sum() / count)
+				+ " ms Max: " + TimeUnit.NANOSECONDS.toMillis(maxSaveNanos) + " ms";
+	}
+
+	/**
+	 * Gives autosave back, as last set through {@link #setAutoSave}, unless something else already turned it on again.
+	 */
+	public void close() {
+		Boolean autoSave = SUSPENDED.remove(worldId);
+		if (autoSave != null && !world.isAutoSave()) world.setAutoSave(autoSave);
+	}
+}
@@ -1,8 +1,6 @@
 package main;
 
-import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
 import org.bukkit.Bukkit;
-import org.bukkit.Chunk;
 import org.bukkit.GameRule;
 import org.bukkit.GameRules;
 import org.bukkit.World;
@@ -12,7 +10,7 @@ import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 
-import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static main.ConsoleColorUtils.*;
 
@@ -23,63 +21,10 @@ public class ServerStateManager implements Listener {
 	private final JavaPlugin plugin;
 	private final PreGeneratorCommands commands;
 	private final TaskScheduler scheduler;
+	private final TurboProfile turbo;
+	private UnloadSweep sweep;
 	private volatile boolean optimizationDone;
-
-	/**
-	 * Abstraction for task scheduling that handles both Folia and standard Bukkit.
-	 */
-	private sealed interface TaskScheduler permits FoliaScheduler, BukkitScheduler {
-		void scheduleDelayed(Runnable task, long delayTicks);
-		void scheduleImmediate(Runnable task);
-
-		static TaskScheduler create(JavaPlugin plugin) {
-			return detectFolia() ? new FoliaScheduler(plugin) : new BukkitScheduler(plugin);
-		}
-
-		private static boolean detectFolia() {
-			try {
-				Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
-				logColor(GREEN, "Folia detected, enabling support");
-				return true;
-			} catch (ClassNotFoundException e) {
-				logColor(YELLOW, "Folia not detected, running standard mode");
-				return false;
-			}
-		}
-	}
-
-	private record FoliaScheduler(JavaPlugin plugin) implements TaskScheduler {
-		@Override
-		public void scheduleDelayed(Runnable task, long delayTicks) {
-			plugin.getServer()
-			.getGlobalRegionScheduler()
-			.runDelayed(plugin, new ScheduledRunnable(task), delayTicks);
-		}
-
-		@Override
-		public void scheduleImmediate(Runnable task) {
-			plugin.getServer().getGlobalRegionScheduler().execute(plugin, task);
-		}
-	}
-
-	private record ScheduledRunnable(Runnable task) implements Consumer<ScheduledTask> {
-		@Override
-		public void accept(ScheduledTask scheduledTask) {
-			task.run();
-		}
-	}
-
-	private record BukkitScheduler(JavaPlugin plugin) implements TaskScheduler {
-		@Override
-		public void scheduleDelayed(Runnable task, long delayTicks) {
-			Bukkit.getScheduler().runTaskLater(plugin, task, delayTicks);
-		}
-
-		@Override
-		public void scheduleImmediate(Runnable task) {
-			Bukkit.getScheduler().runTask(plugin, task);
-		}
-	}
+	private final AtomicInteger warmRelease = new AtomicInteger();
 
 	/**
 	 * Maps plugin GameRule enums to Bukkit GameRule objects with their value getters.
@@ -222,22 +167,44 @@ public class ServerStateManager implements Listener {
 		this.plugin = plugin;
 		this.commands = commands;
 		this.scheduler = TaskScheduler.create(plugin);
+		this.turbo = new TurboProfile(plugin);
 		this.optimizationDone = false;
+		turbo.restore(); // Settings left lowered by a crash
 
 		Bukkit.getPluginManager().registerEvents(this, plugin);
 
 		if (noPlayersOnline()) {
 			scheduler.scheduleDelayed(this::optimizeServer, 40L);
+		} else if (PluginSettings.Tuning.COEXISTENCE_ENABLED.getBoolean()) {
+			commands.getPreGenerator().setCoexisting(true);
 		}
 	}
 
 	@EventHandler
 	public void onPlayerJoin(PlayerJoinEvent event) {
 		scheduler.scheduleImmediate(() -> {
+			if (sweep != null) {
+				sweep.cancel();
+				sweep = null;
+			}
+			if (PluginSettings.Tuning.COEXISTENCE_ENABLED.getBoolean()) {
+				commands.getPreGenerator().setCoexisting(true);
+			} else {
+				stopAllPreGeneration();
+			}
 			applyGameRules(false); // Apply normal rules
-			stopAllPreGeneration();
+			turbo.restore();
 			optimizationDone = false;
 		});
+		WarmSet warmSet = commands.getPreGenerator().getWarmSet();
+		if (warmSet != null) {
+			long holdTicks = Math.max(0L, PluginSettings.Tuning.WARM_SET_HOLD_AFTER_JOIN_SECONDS.getLong()) * 20L;
+			// Only the latest join's release runs, and not once the server emptied and was optimized again.
+			int release = warmRelease.incrementAndGet();
+			scheduler.scheduleDelayed(() -> {
+				if (warmRelease.get() == release && !noPlayersOnline()) warmSet.release();
+			}, Math.max(1L, holdTicks));
+		}
 	}
 
 	@EventHandler
@@ -258,10 +225,21 @@ public class ServerStateManager implements Listener {
 
 		scheduler.scheduleImmediate(() -> {
 			logColor(WHITE, "No players online, optimizing server");
+			warmRelease.incrementAndGet();
+			commands.getPreGenerator().setCoexisting(false);
 			applyGameRules(true); // Apply optimized rules
-			unloadAllChunks();
-			commands.checkAndRunAutoPreGenerators(Bukkit.getConsoleSender());
+			if (PluginSettings.Tuning.TURBO_ENABLED.getBoolean()) turbo.apply();
+			WarmSet warmSet = commands.getPreGenerator().getWarmSet();
+			if (warmSet != null) warmSet.release();
 			optimizationDone = true;
+			if (sweep != null) sweep.cancel();
+			sweep = new UnloadSweep(scheduler, warmSet, () -> {
+				sweep = null;
+				if (!noPlayersOnline()) return;
+				commands.checkAndRunAutoPreGenerators(Bukkit.getConsoleSender(), scheduler);
+				if (warmSet != null && commands.getActivePreGenWorlds().isEmpty()) warmSet.rewarm();
+			});
+			sweep.start();
 		});
 	}
 
@@ -285,23 +263,6 @@ public class ServerStateManager implements Listener {
 		commands.clearActivePreGenWorlds();
 	}
 
-	private void unloadAllChunks() {
-		for (World world : Bukkit.getWorlds()) {
-			for (Chunk chunk : world.getLoadedChunks()) {
-				if (scheduler instanceof FoliaScheduler) {
-					Bukkit.getRegionScheduler()
-					.execute(plugin, world, chunk.getX(), chunk.getZ(), () -> {
-						if (chunk.isLoaded()) {
-							world.unloadChunkRequest(chunk.getX(), chunk.getZ());
-						}
-					});
-				} else {
-					world.unloadChunkRequest(chunk.getX(), chunk.getZ());
-				}
-			}
-		}
-	}
-
 	private boolean noPlayersOnline() {
 		return Bukkit.getOnlinePlayers().isEmpty();
 	}
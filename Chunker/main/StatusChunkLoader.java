@@ -0,0 +1,123 @@
+package main;
+
+import org.bukkit.World;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static main.ConsoleColorUtils.*;
+
+/**
+ * Generates chunks through the server's internal chunk system up to a target status, such as {@code spawn}, the last
+ * status written to disk before a chunk is promoted to a full, ticking chunk. This skips adding entities, ticket level
+ * changes and creating a Bukkit chunk for every generated chunk. The chunk system drops its own temporary ticket once
+ * the status is reached, so nothing is left to unload.
+ *
+ * <p>The internals are found by reflection against the Mojang-mapped runtime; when any of them is missing the probe
+ * returns null and callers keep using {@link World#getChunkAtAsync}.</p>
+ */
+public final class StatusChunkLoader {
+	private static final String SCHEDULER_ACCESSOR = "moonrise$getChunkTaskScheduler";
+	private static final String SCHEDULE_LOAD = "scheduleChunkLoad";
+	private static final String URGENT_PRIORITY = "HIGHER";
+	private static final String NORMAL_PRIORITY = "NORMAL";
+
+	private static StatusChunkLoader instance;
+	private static boolean probed;
+
+	private final MethodHandle getHandle;
+	private final MethodHandle getScheduler;
+	private final MethodHandle scheduleChunkLoad;
+	private final Object status;
+	private final Object urgentPriority;
+	private final Object normalPriority;
+	private final String statusName;
+
+	private StatusChunkLoader(World world, String statusName) throws ReflectiveOperationException {
+		MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+		Method handle = world.getClass().getMethod("getHandle");
+		Method accessor = handle.getReturnType().getMethod(SCHEDULER_ACCESSOR);
+		Method schedule = findScheduleLoad(accessor.getReturnType());
+		Class<?>[] parameters = schedule.getParameterTypes();
+
+		this.statusName = statusName.toLowerCase(Locale.ROOT);
+		this.status = parameters[2].getField(statusName.toUpperCase(Locale.ROOT)).get(null);
+		this.urgentPriority = enumConstant(parameters[4], URGENT_PRIORITY);
+		this.normalPriority = enumConstant(parameters[4], NORMAL_PRIORITY);
+		this.getHandle = lookup.unreflect(handle).asType(MethodType.methodType(Object.class, World.class));
+		this.getScheduler = lookup.unreflect(accessor).asType(MethodType.methodType(Object.class, Object.class));
+		this.scheduleChunkLoad = lookup.unreflect(schedule).asType(MethodType.methodType(void.class,
+				Object.class, int.class, int.class, Object.class, boolean.class, Object.class, Consumer.class));
+	}
+
+	/**
+	 * Looks for the chunk system once, using {@code world} to reach the server internals.
+	 *
+	 * @return the loader, or null when the server does not expose a compatible chunk system
+	 */
+	public static synchronized StatusChunkLoader probe(World world) {
+		if (probed) return instance;
+		probed = true;
+		String target = PluginSettings.Tuning.CHUNK_SYSTEM_TARGET_STATUS.getString().trim();
+		try {
+			instance = new StatusChunkLoader(world, target);
+			logPlain("Generating chunks through the chunk system to status " + instance.statusName);
+		} catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+			logColor(YELLOW, "Chunk system fast path unavailable, using the public chunk API: " + e);
+		}
+		return instance;
+	}
+
+	/**
+	 * @return the status chunks are generated to
+	 */
+	public String statusName() {
+		return statusName;
+	}
+
+	/**
+	 * Generates a chunk up to the target status, or loads it if it is already there.
+	 *
+	 * @param urgent true for the priority the public API gives urgent requests
+	 * @return future completed with true once the chunk reached the status, or false if the chunk system gave up on it
+	 */
+	public CompletableFuture<Boolean> generate(World world, int chunkX, int chunkZ, boolean urgent) {
+		CompletableFuture<Boolean> future = new CompletableFuture<>();
+		Consumer<Object> onComplete = chunk -> future.complete(chunk != null);
+		try {
+			Object level = (Object) getHandle.invokeExact(world);
+			Object scheduler = (Object) getScheduler.invokeExact(level);
+			scheduleChunkLoad.invokeExact(scheduler, chunkX, chunkZ, status, true, urgent ? urgentPriority : normalPriority, onComplete);
+		} catch (Throwable t) {
+			future.completeExceptionally(t);
+		}
+		return future;
+	}
+
+	/**
+	 * Finds {@code scheduleChunkLoad(int, int, ChunkStatus, boolean addTicket, Priority, Consumer)}.
+	 */
+	private static Method findScheduleLoad(Class<?> scheduler) throws NoSuchMethodException {
+		for (Method method : scheduler.getMethods()) {
+			Class<?>[] parameters = method.getParameterTypes();
+			if (method.getName().equals(SCHEDULE_LOAD) && parameters.length == 6
+					&& parameters[0] == int.class && parameters[1] == int.class && parameters[3] == boolean.class
+					&& parameters[4].isEnum() && parameters[5] == Consumer.class) {
+				return method;
+			}
+		}
+		throw new NoSuchMethodException(scheduler.getName() + "." + SCHEDULE_LOAD);
+	}
+
+	private static Object enumConstant(Class<?> type, String name) throws NoSuchFieldException {
+		for (Object constant : type.getEnumConstants()) {
+			if (((Enum<?>) constant).name().equals(name)) return constant;
+		}
+		throw new NoSuchFieldException(type.getName() + "." + name);
+	}
+}
@@ -0,0 +1,93 @@
+package main;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.function.Consumer;
+
+import static main.ConsoleColorUtils.*;
+
+/**
+ * Abstraction for task scheduling that handles both Folia and standard Bukkit.
+ */
+sealed interface TaskScheduler permits TaskScheduler.FoliaScheduler, TaskScheduler.BukkitScheduler {
+	void scheduleDelayed(Runnable task, long delayTicks);
+	void scheduleImmediate(Runnable task);
+
+	/**
+	 * Runs a task on the thread owning a chunk: its region on Folia, the main thread otherwise.
+	 */
+	void scheduleAt(World world, int chunkX, int chunkZ, Runnable task);
+
+	boolean isFolia();
+
+	static TaskScheduler create(JavaPlugin plugin) {
+		return detectFolia() ? new FoliaScheduler(plugin) : new BukkitScheduler(plugin);
+	}
+
+	private static boolean detectFolia() {
+		try {
+			Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+			logColor(GREEN, "Folia detected, enabling support");
+			return true;
+		} catch (ClassNotFoundException e) {
+			logColor(YELLOW, "Folia not detected, running standard mode");
+			return false;
+		}
+	}
+
+	record FoliaScheduler(JavaPlugin plugin) implements TaskScheduler {
+		@Override
+		public void scheduleDelayed(Runnable task, long delayTicks) {
+			plugin.getServer()
+			.getGlobalRegionScheduler()
+			.runDelayed(plugin, new ScheduledRunnable(task), delayTicks);
+		}
+
+		@Override
+		public void scheduleImmediate(Runnable task) {
+			plugin.getServer().getGlobalRegionScheduler().execute(plugin, task);
+		}
+
+		@Override
+		public void scheduleAt(World world, int chunkX, int chunkZ, Runnable task) {
+			Bukkit.getRegionScheduler().execute(plugin, world, chunkX, chunkZ, task);
+		}
+
+		@Override
+		public boolean isFolia() {
+			return true;
+		}
+	}
+
+	record ScheduledRunnable(Runnable task) implements Consumer<ScheduledTask> {
+		@Override
+		public void accept(ScheduledTask scheduledTask) {
+			task.run();
+		}
+	}
+
+	record BukkitScheduler(JavaPlugin plugin) implements TaskScheduler {
+		@Override
+		public void scheduleDelayed(Runnable task, long delayTicks) {
+			Bukkit.getScheduler().runTaskLater(plugin, task, delayTicks);
+		}
+
+		@Override
+		public void scheduleImmediate(Runnable task) {
+			Bukkit.getScheduler().runTask(plugin, task);
+		}
+
+		@Override
+		public void scheduleAt(World world, int chunkX, int chunkZ, Runnable task) {
+			Bukkit.getScheduler().runTask(plugin, task);
+		}
+
+		@Override
+		public boolean isFolia() {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package main;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-tick time budget for synchronous chunk work on the main thread.
+ * The budget grows additively while ticks arrive on time and shrinks multiplicatively when they run late,
+ * and a moving average of the per-chunk cost decides whether one more chunk still fits.
+ */
+public final class TickBudget {
+	private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+	private static final long LATE_TICK_TOLERANCE_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+	private static final long INCREASE_STEP_NANOS = TimeUnit.MICROSECONDS.toNanos(500);
+	private static final double DECREASE_FACTOR = 0.7D;
+	private static final double COST_SMOOTHING = 0.2D;
+
+	private final long minBudgetNanos;
+	private final long maxBudgetNanos;
+	private long budgetNanos;
+	private long lastTickStart;
+	private double averageChunkNanos;
+
+	/**
+	 * @param minBudgetMillis smallest budget per tick
+	 * @param maxBudgetMillis largest budget per tick
+	 */
+	public TickBudget(double minBudgetMillis, double maxBudgetMillis) {
+		this.minBudgetNanos = Math.max(1L, (long) (minBudgetMillis * 1_000_000D));
+		this.maxBudgetNanos = Math.max(minBudgetNanos, (long) (maxBudgetMillis * 1_000_000D));
+		this.budgetNanos = minBudgetNanos;
+	}
+
+	/**
+	 * Adapts the budget to the interval since the previous tick started.
+	 *
+	 * @param now start of the current tick
+	 */
+	public void beginTick(long now) {
+		if (lastTickStart != 0L) {
+			long interval = now - lastTickStart;
+			if (interval > TICK_NANOS + LATE_TICK_TOLERANCE_NANOS) {
+				budgetNanos = Math.max(minBudgetNanos, (long) (budgetNanos * DECREASE_FACTOR));
+			} else {
+				budgetNanos = Math.min(maxBudgetNanos, budgetNanos + INCREASE_STEP_NANOS);
+			}
+		}
+		lastTickStart = now;
+	}
+
+	/**
+	 * @param elapsedNanos time already spent in this tick
+	 * @return true if another chunk of average cost fits into the remaining budget
+	 */
+	public boolean hasRoom(long elapsedNanos) {
+		return elapsedNanos + (long) averageChunkNanos <= budgetNanos;
+	}
+
+	/**
+	 * Folds the measured cost of one chunk into the moving average.
+	 */
+	public void recordChunk(long costNanos) {
+		averageChunkNanos = averageChunkNanos == 0D
+				? costNanos
+				: averageChunkNanos + COST_SMOOTHING * (costNanos - averageChunkNanos);
+	}
+}
@@ -0,0 +1,207 @@
+package main;
+
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static main.ConsoleColorUtils.*;
+
+/**
+ * Generates a cone of chunks just beyond the view distance of fast-moving players, such as elytra or boat travellers,
+ * so the chunks exist before the player arrives. Heading and speed are estimated from chunk crossings,
+ * requests are non-urgent and limited per player and globally, and queued requests are dropped when the player turns.
+ * Requests already handed to the server cannot be recalled through the API; they finish and are unloaded again.
+ */
+public final class TrailPredictor {
+	private static final long SUBMIT_INTERVAL_MS = 50L;
+	private static final long MAX_SAMPLE_GAP_NANOS = TimeUnit.SECONDS.toNanos(2);
+	private static final double VELOCITY_SMOOTHING = 0.5D;
+	private static final int REQUESTED_MEMORY = 4096;
+
+	private final JavaPlugin plugin;
+	private final boolean folia;
+	private final ConcurrentHashMap<UUID, Trail> trails = new ConcurrentHashMap<>();
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AsyncDelayedScheduler scheduler = new AsyncDelayedScheduler();
+	private final double minSpeed;
+	private final double lookaheadSeconds;
+	private final double cosTurnAngle;
+	private final double coneSlope;
+	private final int maxPerPlayer;
+	private final int maxGlobal;
+
+	public TrailPredictor(JavaPlugin plugin, boolean folia) {
+		this.plugin = plugin;
+		this.folia = folia;
+		this.minSpeed = PluginSettings.Tuning.TRAIL_MIN_SPEED.getDouble();
+		this.lookaheadSeconds = Math.max(0.5D, PluginSettings.Tuning.TRAIL_LOOKAHEAD_SECONDS.getDouble());
+		double coneAngle = Math.toRadians(Math.min(80D, Math.max(5D, PluginSettings.Tuning.TRAIL_CONE_DEGREES.getDouble())));
+		this.cosTurnAngle = Math.cos(coneAngle);
+		this.coneSlope = Math.tan(coneAngle);
+		this.maxPerPlayer = Math.max(1, PluginSettings.Tuning.TRAIL_MAX_PER_PLAYER.getInt());
+		this.maxGlobal = Math.max(1, PluginSettings.Tuning.TRAIL_MAX_GLOBAL.getInt());
+	}
+
+	/**
+	 * Starts handing queued trail chunks to the server.
+	 */
+	public void start() {
+		scheduler.scheduleAtFixedRate(this::submit, SUBMIT_INTERVAL_MS, SUBMIT_INTERVAL_MS, TimeUnit.MILLISECONDS, scheduler.isEnabledSupplier());
+	}
+
+	/**
+	 * Stops handing queued trail chunks to the server.
+	 */
+	public void stop() {
+		scheduler.setEnabled(false);
+	}
+
+	/**
+	 * Updates a player's heading and speed after they crossed into another chunk and queues the chunks ahead of them.
+	 */
+	public void onChunkCrossed(Player player, Location to) {
+		World world = to.getWorld();
+		if (world == null) return;
+		Trail trail = trails.computeIfAbsent(player.getUniqueId(), _ -> new Trail());
+		long now = System.nanoTime();
+		synchronized (trail) {
+			if (trail.world != world || trail.lastNanos == 0L || now - trail.lastNanos > MAX_SAMPLE_GAP_NANOS) {
+				trail.reset(world, to.getX(), to.getZ(), now);
+				return;
+			}
+			double seconds = (now - trail.lastNanos) / 1_000_000_000D;
+			if (seconds <= 0D) return;
+			double sampleX = (to.getX() - trail.lastX) / seconds;
+			double sampleZ = (to.getZ() - trail.lastZ) / seconds;
+			trail.velocityX += VELOCITY_SMOOTHING * (sampleX - trail.velocityX);
+			trail.velocityZ += VELOCITY_SMOOTHING * (sampleZ - trail.velocityZ);
+			trail.lastX = to.getX();
+			trail.lastZ = to.getZ();
+			trail.lastNanos = now;
+
+			double speed = Math.hypot(trail.velocityX, trail.velocityZ);
+			if (speed < minSpeed) {
+				trail.queued.clear();
+				trail.hasHeading = false;
+				return;
+			}
+			double headingX = trail.velocityX / speed;
+			double headingZ = trail.velocityZ / speed;
+			if (trail.hasHeading && headingX * trail.headingX + headingZ * trail.headingZ < cosTurnAngle) {
+				trail.queued.clear();
+			}
+			trail.headingX = headingX;
+			trail.headingZ = headingZ;
+			trail.hasHeading = true;
+			queueCone(trail, to.getBlockX() >> 4, to.getBlockZ() >> 4, PlayerProtectionIndex.viewDistance(player), speed);
+		}
+	}
+
+	/**
+	 * Forgets a player that left or changed worlds; their queued chunks are dropped.
+	 */
+	public void forget(UUID playerId) {
+		trails.remove(playerId);
+	}
+
+	/**
+	 * Queues the chunks of a cone that starts just past the view distance and reaches as far as the player travels in the lookahead time.
+	 */
+	private void queueCone(Trail trail, int chunkX, int chunkZ, int viewDistance, double speed) {
+		int start = viewDistance + 1;
+		int end = start + (int) Math.ceil(speed * lookaheadSeconds / 16D);
+		for (int step = start; step <= end && trail.queued.size() < maxPerPlayer * 2; step++) {
+			int centerX = chunkX + (int) Math.round(trail.headingX * step);
+			int centerZ = chunkZ + (int) Math.round(trail.headingZ * step);
+			int halfWidth = Math.min(2, (int) Math.ceil((step - start) * coneSlope));
+			for (int offset = -halfWidth; offset <= halfWidth; offset++) {
+				int x = centerX + (int) Math.round(-trail.headingZ * offset);
+				int z = centerZ + (int) Math.round(trail.headingX * offset);
+				long key = MortonCode.encode(x, z);
+				if (trail.requested.size() >= REQUESTED_MEMORY) trail.requested.clear();
+				if (trail.requested.add(key)) trail.queued.enqueue(key);
+			}
+		}
+	}
+
+	private void submit() {
+		try {
+			for (Map.Entry<UUID, Trail> entry : trails.entrySet()) {
+				Trail trail = entry.getValue();
+				synchronized (trail) {
+					while (!trail.queued.isEmpty() && trail.inFlight < maxPerPlayer) {
+						if (inFlight.incrementAndGet() > maxGlobal) {
+							inFlight.decrementAndGet();
+							return;
+						}
+						trail.inFlight++;
+						request(trail, trail.world, trail.queued.dequeueLong());
+					}
+				}
+			}
+		} catch (Exception e) {
+			exceptionMsg("Exception in TrailPredictor: " + e.getMessage());
+			e.printStackTrace();
+		}
+	}
+
+	private void request(Trail trail, World world, long key) {
+		int chunkX = MortonCode.getX(key);
+		int chunkZ = MortonCode.getZ(key);
+		if (folia) {
+			Bukkit.getRegionScheduler().execute(plugin, world, chunkX, chunkZ, () -> load(trail, world, chunkX, chunkZ));
+		} else {
+			load(trail, world, chunkX, chunkZ);
+		}
+	}
+
+	private void load(Trail trail, World world, int chunkX, int chunkZ) {
+		world.getChunkAtAsync(chunkX, chunkZ, true, false).whenComplete((Chunk chunk, Throwable ex) -> {
+			inFlight.decrementAndGet();
+			synchronized (trail) {
+				trail.inFlight--;
+			}
+			if (chunk != null && chunk.isLoaded()) {
+				world.unloadChunkRequest(chunkX, chunkZ);
+			}
+		});
+	}
+
+	private static final class Trail {
+		final LongArrayFIFOQueue queued = new LongArrayFIFOQueue();
+		final LongOpenHashSet requested = new LongOpenHashSet();
+		World world;
+		double lastX;
+		double lastZ;
+		long lastNanos;
+		double velocityX;
+		double velocityZ;
+		double headingX;
+		double headingZ;
+		boolean hasHeading;
+		int inFlight;
+
+		void reset(World world, double x, double z, long now) {
+			this.world = world;
+			this.lastX = x;
+			this.lastZ = z;
+			this.lastNanos = now;
+			this.velocityX = 0D;
+			this.velocityZ = 0D;
+			this.hasHeading = false;
+			queued.clear();
+			requested.clear();
+		}
+	}
+}
@@ -0,0 +1,162 @@
+package main;
+
+import org.bukkit.World;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+
+import static main.ConsoleColorUtils.*;
+
+/**
+ * Server-wide settings lowered while nobody is online: view and simulation distance, world autosave and mob spawning.
+ * The original value of every setting is journaled to disk before anything changes, so a player join or the next
+ * start after a crash puts back exactly what was there. Settings the server does not support are skipped.
+ */
+public final class TurboProfile {
+	private static final String JOURNAL_NAME = "turbo.journal";
+
+	private final JavaPlugin plugin;
+	private final File journal;
+
+	/**
+	 * A world setting the profile can read, change and put back.
+	 */
+	private enum Setting {
+		VIEW_DISTANCE {
+			@Override long read(World world) { return world.getViewDistance(); }
+			@Override void write(World world, long value) { world.setViewDistance((int) value); }
+			@Override long turbo() { return distance(PluginSettings.Tuning.TURBO_VIEW_DISTANCE); }
+		},
+		SIMULATION_DISTANCE {
+			@Override long read(World world) { return world.getSimulationDistance(); }
+			@Override void write(World world, long value) { world.setSimulationDistance((int) value); }
+			@Override long turbo() { return distance(PluginSettings.Tuning.TURBO_SIMULATION_DISTANCE); }
+		},
+		AUTO_SAVE {
+			@Override long read(World world) { return SavePacer.originalAutoSave(world) ? 1L : 0L; }
+			@Override void write(World world, long value) { SavePacer.setAutoSave(world, value != 0L); }
+			@Override long turbo() { return PluginSettings.Tuning.TURBO_SUSPEND_AUTOSAVE.getBoolean() ? 0L : -1L; }
+		},
+		ANIMAL_SPAWN_TICKS {
+			@Override long read(World world) { return world.getTicksPerAnimalSpawns(); }
+			@Override void write(World world, long value) { world.setTicksPerAnimalSpawns((int) value); }
+			@Override long turbo() { return PluginSettings.Tuning.TURBO_PAUSE_SPAWNING.getBoolean() ? 0L : -1L; }
+		},
+		MONSTER_SPAWN_TICKS {
+			@Override long read(World world) { return world.getTicksPerMonsterSpawns(); }
+			@Override void write(World world, long value) { world.setTicksPerMonsterSpawns((int) value); }
+			@Override long turbo() { return PluginSettings.Tuning.TURBO_PAUSE_SPAWNING.getBoolean() ? 0L : -1L; }
+		};
+
+		abstract long read(World world);
+
+		abstract void write(World world, long value);
+
+		/**
+		 * @return the value used while idle, or a negative value to leave the setting alone
+		 */
+		abstract long turbo();
+
+		private static final Setting[] CACHED_VALUES = values();
+	}
+
+	public TurboProfile(JavaPlugin plugin) {
+		this.plugin = plugin;
+		this.journal = new File(plugin.getDataFolder(), JOURNAL_NAME);
+	}
+
+	/**
+	 * Journals the current value of every enabled setting, then lowers it. An existing journal is kept,
+	 * so applying twice never records turbo values as the originals.
+	 */
+	public synchronized void apply() {
+		if (!journal.isFile()) {
+			StringBuilder entries = new StringBuilder();
+			for (World world : plugin.getServer().getWorlds()) {
+				for (Setting setting : Setting.CACHED_VALUES) {
+					if (setting.turbo() < 0L) continue;
+					try {
+						entries.append(WorldRegistry.id(world)).append('\t').append(setting.name()).append('\t')
+								.append(setting.read(world)).append('\n');
+					} catch (NoSuchMethodError | UnsupportedOperationException ignored) {
+					}
+				}
+			}
+			try {
+				writeJournal(entries.toString());
+			} catch (IOException e) {
+				exceptionMsg("Failed to write turbo journal, leaving settings unchanged: " + e.getMessage());
+				e.printStackTrace();
+				return;
+			}
+		}
+
+		int changed = 0;
+		for (World world : plugin.getServer().getWorlds()) {
+			for (Setting setting : Setting.CACHED_VALUES) {
+				long value = setting.turbo();
+				if (value < 0L) continue;
+				try {
+					setting.write(world, value);
+					changed++;
+				} catch (NoSuchMethodError | UnsupportedOperationException ignored) {
+				}
+			}
+		}
+		if (changed > 0) logPlain("Turbo profile applied to " + changed + " world settings");
+	}
+
+	/**
+	 * Puts back every journaled value and deletes the journal. Does nothing when no journal exists.
+	 */
+	public synchronized void restore() {
+		if (!journal.isFile()) return;
+		List<String> lines;
+		try {
+			lines = Files.readAllLines(journal.toPath(), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			exceptionMsg("Failed to read turbo journal: " + e.getMessage());
+			e.printStackTrace();
+			return;
+		}
+		int restored = 0;
+		for (String line : lines) {
+			String[] parts = line.split("\t");
+			if (parts.length != 3) continue;
+			World world = WorldRegistry.resolveWorld(parts[0], false);
+			if (world == null) continue;
+			try {
+				Setting.valueOf(parts[1]).write(world, Long.parseLong(parts[2]));
+				restored++;
+			} catch (IllegalArgumentException | NoSuchMethodError | UnsupportedOperationException e) {
+				exceptionMsg("Skipping turbo journal entry '" + line + "': " + e.getMessage());
+			}
+		}
+		if (!journal.delete()) {
+			exceptionMsg("Failed to delete turbo journal " + journal.getName());
+		}
+		if (restored > 0) logPlain("Turbo profile restored " + restored + " world settings");
+	}
+
+	/**
+	 * @return the configured distance, or -1 when it is 0 or less and the setting should be left alone
+	 */
+	private static long distance(PluginSettings.Tuning tuning) {
+		int value = tuning.getInt();
+		return value > 0 ? Math.max(2, value) : -1L;
+	}
+
+	private void writeJournal(String entries) throws IOException {
+		File temp = new File(journal.getPath() + ".tmp");
+		try (BufferedWriter writer = Files.newBufferedWriter(temp.toPath(), StandardCharsets.UTF_8)) {
+			writer.write(entries);
+		}
+		Files.move(temp.toPath(), journal.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+}
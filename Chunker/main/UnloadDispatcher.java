@@ -0,0 +1,151 @@
+package main;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import static main.ConsoleColorUtils.*;
+
+/**
+ * Buffers chunk unload requests of a task and dispatches them once per tick,
+ * as one scheduled batch per 16x16 chunk section so each batch runs on the single Folia region that owns it.
+ */
+public final class UnloadDispatcher {
+	static final int SECTION_SHIFT = 4;
+
+	private final JavaPlugin plugin;
+	private final World world;
+	private final boolean folia;
+	private final Object lock = new Object();
+	private Long2ObjectOpenHashMap<SectionBatch> pending = new Long2ObjectOpenHashMap<>();
+	private ScheduledTask foliaTimer;
+	private BukkitTask paperTimer;
+	private volatile boolean closed;
+
+	public final LongAdder queued = new LongAdder();
+	public final LongAdder executed = new LongAdder();
+
+	public UnloadDispatcher(JavaPlugin plugin, World world, boolean folia) {
+		this.plugin = plugin;
+		this.world = world;
+		this.folia = folia;
+	}
+
+	/**
+	 * Starts the once-per-tick flush.
+	 */
+	public void start() {
+		if (folia) {
+			foliaTimer = Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, _ -> flush(), 1L, 1L);
+		} else {
+			paperTimer = Bukkit.getScheduler().runTaskTimer(plugin, this::flush, 1L, 1L);
+		}
+	}
+
+	/**
+	 * Queues an unload request for a chunk.
+	 */
+	public void unload(int chunkX, int chunkZ) {
+		queue(chunkX, chunkZ, false);
+	}
+
+	/**
+	 * Queues removal of the plugin ticket of a retained chunk followed by an unload request.
+	 */
+	public void release(long[] keys) {
+		for (long key : keys) {
+			queue(MortonCode.getX(key), MortonCode.getZ(key), true);
+		}
+	}
+
+	private void queue(int chunkX, int chunkZ, boolean release) {
+		long key = MortonCode.encode(chunkX, chunkZ);
+		long section = MortonCode.encode(chunkX >> SECTION_SHIFT, chunkZ >> SECTION_SHIFT);
+		synchronized (lock) {
+			SectionBatch batch = pending.get(section);
+			if (batch == null) {
+				batch = new SectionBatch(chunkX, chunkZ);
+				pending.put(section, batch);
+			}
+			(release ? batch.releases : batch.unloads).add(key);
+		}
+		queued.increment();
+	}
+
+	/**
+	 * Dispatches every buffered request, one scheduled batch per section on Folia or inline on the Paper main thread.
+	 */
+	public void flush() {
+		Long2ObjectOpenHashMap<SectionBatch> batches;
+		synchronized (lock) {
+			if (pending.isEmpty()) return;
+			batches = pending;
+			pending = new Long2ObjectOpenHashMap<>(Math.max(16, batches.size()));
+		}
+
+		for (Long2ObjectMap.Entry<SectionBatch> entry : batches.long2ObjectEntrySet()) {
+			SectionBatch batch = entry.getValue();
+			if (folia) {
+				Bukkit.getRegionScheduler().execute(plugin, world, batch.anchorX, batch.anchorZ, () -> run(batch));
+			} else {
+				run(batch);
+			}
+		}
+	}
+
+	/**
+	 * Stops the tick timer and dispatches whatever is still buffered.
+	 */
+	public void close() {
+		if (closed) return;
+		closed = true;
+		if (foliaTimer != null) foliaTimer.cancel();
+		if (paperTimer != null) paperTimer.cancel();
+		if (!plugin.isEnabled()) return;
+		if (folia || Bukkit.isPrimaryThread()) {
+			flush();
+		} else {
+			Bukkit.getScheduler().runTask(plugin, this::flush);
+		}
+	}
+
+	private void run(SectionBatch batch) {
+		try {
+			for (int i = 0, size = batch.releases.size(); i < size; i++) {
+				long key = batch.releases.getLong(i);
+				world.removePluginChunkTicket(MortonCode.getX(key), MortonCode.getZ(key), plugin);
+			}
+			for (int i = 0, size = batch.unloads.size(); i < size; i++) {
+				long key = batch.unloads.getLong(i);
+				world.unloadChunkRequest(MortonCode.getX(key), MortonCode.getZ(key));
+			}
+			for (int i = 0, size = batch.releases.size(); i < size; i++) {
+				long key = batch.releases.getLong(i);
+				world.unloadChunkRequest(MortonCode.getX(key), MortonCode.getZ(key));
+			}
+			executed.add(batch.unloads.size() + batch.releases.size());
+		} catch (Exception e) {
+			exceptionMsg("Exception while dispatching chunk unloads: " + e.getMessage());
+			e.printStackTrace();
+		}
+	}
+
+	private static final class SectionBatch {
+		final int anchorX;
+		final int anchorZ;
+		final LongArrayList unloads = new LongArrayList();
+		final LongArrayList releases = new LongArrayList();
+
+		SectionBatch(int anchorX, int anchorZ) {
+			this.anchorX = anchorX;
+			this.anchorZ = anchorZ;
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package main;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static main.ConsoleColorUtils.*;
+
+/**
+ * Unloads every loaded chunk when the server goes idle, grouped by 16x16 chunk section so each group is one task
+ * on the Folia region that owns it, and spread over ticks under a chunk budget. The completion callback runs on the
+ * global thread only after every group has been handled, and is dropped if the sweep is cancelled first.
+ */
+final class UnloadSweep {
+	private final TaskScheduler scheduler;
+	private final WarmSet warmSet;
+	private final int chunksPerTick;
+	private final ArrayDeque<Group> groups = new ArrayDeque<>();
+	private final AtomicInteger outstanding = new AtomicInteger();
+	private final Runnable onComplete;
+	private volatile boolean cancelled;
+	private int total;
+
+	/**
+	 * @param warmSet ranks each chunk before it unloads; may be null
+	 */
+	UnloadSweep(TaskScheduler scheduler, WarmSet warmSet, Runnable onComplete) {
+		this.scheduler = scheduler;
+		this.warmSet = warmSet;
+		this.onComplete = onComplete;
+		this.chunksPerTick = Math.max(1, PluginSettings.Tuning.UNLOAD_SWEEP_CHUNKS_PER_TICK.getInt());
+	}
+
+	/**
+	 * Snapshots the loaded chunks of every world and starts unloading them. Must be called on the global thread.
+	 */
+	void start() {
+		for (World world : Bukkit.getWorlds()) {
+			Long2ObjectOpenHashMap<LongArrayList> sections = new Long2ObjectOpenHashMap<>();
+			for (Chunk chunk : world.getLoadedChunks()) {
+				long section = MortonCode.encode(chunk.getX() >> UnloadDispatcher.SECTION_SHIFT, chunk.getZ() >> UnloadDispatcher.SECTION_SHIFT);
+				LongArrayList keys = sections.get(section);
+				if (keys == null) {
+					keys = new LongArrayList();
+					sections.put(section, keys);
+				}
+				keys.add(MortonCode.encode(chunk.getX(), chunk.getZ()));
+			}
+			for (LongArrayList keys : sections.values()) {
+				groups.addLast(new Group(world, keys.toLongArray()));
+				total += keys.size();
+			}
+		}
+		outstanding.set(groups.size());
+		if (total > 0) logPlain("Unloading " + total + " chunks in " + groups.size() + " groups, up to " + chunksPerTick + " per tick");
+		if (groups.isEmpty()) {
+			finish();
+			return;
+		}
+		step();
+	}
+
+	/**
+	 * Stops issuing groups; groups already handed out still finish, but the completion callback is not run.
+	 */
+	void cancel() {
+		cancelled = true;
+		if (warmSet != null) warmSet.saveSoon();
+	}
+
+	private void step() {
+		if (cancelled) return;
+		int budget = chunksPerTick;
+		Group group;
+		while (budget > 0 && (group = groups.pollFirst()) != null) {
+			budget -= group.keys.length;
+			Group current = group;
+			if (scheduler.isFolia()) {
+				long first = current.keys[0];
+				scheduler.scheduleAt(current.world, MortonCode.getX(first), MortonCode.getZ(first), () -> unload(current));
+			} else {
+				unload(current);
+			}
+		}
+		if (!groups.isEmpty()) scheduler.scheduleDelayed(this::step, 1L);
+	}
+
+	private void unload(Group group) {
+		try {
+			for (long key : group.keys) {
+				int chunkX = MortonCode.getX(key);
+				int chunkZ = MortonCode.getZ(key);
+				if (!group.world.isChunkLoaded(chunkX, chunkZ)) continue;
+				if (warmSet != null) warmSet.record(group.world.getChunkAt(chunkX, chunkZ));
+				group.world.unloadChunkRequest(chunkX, chunkZ);
+			}
+		} catch (Exception e) {
+			exceptionMsg("Exception in unload sweep: " + e.getMessage());
+			e.printStackTrace();
+		} finally {
+			if (outstanding.decrementAndGet() == 0) scheduler.scheduleImmediate(this::finish);
+		}
+	}
+
+	private void finish() {
+		if (cancelled) return;
+		if (warmSet != null) warmSet.saveSoon();
+		onComplete.run();
+	}
+
+	private record Group(World world, long[] keys) {
+	}
+}
@@ -0,0 +1,285 @@
+package main;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static main.ConsoleColorUtils.*;
+
+/**
+ * The chunks players spent the most time in, ranked by inhabited time and kept per world in a small binary file.
+ * Recorded while the idle optimizer unloads everything, and loaded back under a plugin ticket, hottest first,
+ * once pre-generation stops so the first player to join finds spawn and hub areas warm.
+ */
+public final class WarmSet {
+	private static final int MAGIC = 0x43575331;
+	private static final long SUBMIT_INTERVAL_MS = 50L;
+	private static final long SAVE_DELAY_MS = 5000L;
+
+	private final JavaPlugin plugin;
+	private final boolean folia;
+	private final int size;
+	private final long minInhabitedTicks;
+	private final int maxInFlight;
+	private final ConcurrentHashMap<String, WorldChunks> worlds = new ConcurrentHashMap<>();
+	private final Object queueLock = new Object();
+	private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AsyncDelayedScheduler scheduler = new AsyncDelayedScheduler();
+	private volatile int generation;
+
+	public WarmSet(JavaPlugin plugin, boolean folia) {
+		this.plugin = plugin;
+		this.folia = folia;
+		this.size = Math.max(0, PluginSettings.Tuning.WARM_SET_SIZE.getInt());
+		this.minInhabitedTicks = Math.max(0L, PluginSettings.Tuning.WARM_SET_MIN_INHABITED_TICKS.getLong());
+		this.maxInFlight = Math.max(1, PluginSettings.Tuning.WARM_SET_MAX_IN_FLIGHT.getInt());
+	}
+
+	/**
+	 * Starts handing queued warm chunks to the server.
+	 */
+	public void start() {
+		scheduler.scheduleAtFixedRate(this::submit, SUBMIT_INTERVAL_MS, SUBMIT_INTERVAL_MS, TimeUnit.MILLISECONDS, scheduler.isEnabledSupplier());
+	}
+
+	/**
+	 * Stops handing out warm chunks and writes the ranking recorded since the last save.
+	 */
+	public void stop() {
+		scheduler.setEnabled(false);
+		save();
+	}
+
+	/**
+	 * Records a loaded chunk's inhabited time; chunks below the configured minimum are ignored.
+	 * Safe to call from any thread that may read the chunk.
+	 */
+	public void record(Chunk chunk) {
+		long inhabited = chunk.getInhabitedTime();
+		if (inhabited < minInhabitedTicks) return;
+		WorldChunks chunks = chunks(WorldRegistry.id(chunk.getWorld()));
+		long key = MortonCode.encode(chunk.getX(), chunk.getZ());
+		synchronized (chunks) {
+			if (inhabited > chunks.ranked.get(key)) {
+				chunks.ranked.put(key, inhabited);
+				chunks.dirty = true;
+			}
+		}
+	}
+
+	/**
+	 * Trims every changed world to its hottest chunks and writes it shortly after the last recorded chunk.
+	 */
+	public void saveSoon() {
+		scheduler.scheduleWithDelay(this::save, SAVE_DELAY_MS, TimeUnit.MILLISECONDS);
+	}
+
+	private void save() {
+		for (Map.Entry<String, WorldChunks> entry : worlds.entrySet()) {
+			WorldChunks chunks = entry.getValue();
+			long[] keys;
+			long[] values;
+			synchronized (chunks) {
+				if (!chunks.dirty) continue;
+				trim(chunks);
+				keys = new long[chunks.ranked.size()];
+				values = new long[keys.length];
+				int i = 0;
+				for (Long2LongMap.Entry chunk : chunks.ranked.long2LongEntrySet()) {
+					keys[i] = chunk.getLongKey();
+					values[i++] = chunk.getLongValue();
+				}
+				chunks.dirty = false;
+			}
+			try {
+				write(WorldRegistry.warmSetFile(plugin, entry.getKey()), keys, values);
+			} catch (IOException e) {
+				exceptionMsg("Failed to save warm set for " + entry.getKey() + ": " + e.getMessage());
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Queues every loaded world's warm set for loading, hottest chunks first. Chunks that were never generated stay ungenerated.
+	 */
+	public void rewarm() {
+		int queued = 0;
+		synchronized (queueLock) {
+			queue.clear();
+			for (World world : Bukkit.getWorlds()) {
+				WorldChunks chunks = chunks(WorldRegistry.id(world));
+				long[] hottest;
+				synchronized (chunks) {
+					trim(chunks);
+					hottest = sortedByHeat(chunks.ranked);
+				}
+				for (long key : hottest) {
+					queue.addLast(new Pending(world, key));
+					queued++;
+				}
+			}
+		}
+		if (queued > 0) logPlain("Re-warming " + queued + " frequently visited chunks");
+	}
+
+	/**
+	 * Drops pending warm loads and removes the tickets of chunks already warmed, letting the server unload them normally.
+	 */
+	public void release() {
+		generation++;
+		synchronized (queueLock) {
+			queue.clear();
+		}
+		for (World world : Bukkit.getWorlds()) {
+			WorldChunks chunks = worlds.get(WorldRegistry.id(world));
+			if (chunks == null) continue;
+			long[] ticketed;
+			synchronized (chunks) {
+				ticketed = chunks.ticketed.toLongArray();
+				chunks.ticketed.clear();
+			}
+			for (long key : ticketed) {
+				int chunkX = MortonCode.getX(key);
+				int chunkZ = MortonCode.getZ(key);
+				if (folia) {
+					Bukkit.getRegionScheduler().execute(plugin, world, chunkX, chunkZ, () -> world.removePluginChunkTicket(chunkX, chunkZ, plugin));
+				} else {
+					world.removePluginChunkTicket(chunkX, chunkZ, plugin);
+				}
+			}
+		}
+	}
+
+	private void submit() {
+		try {
+			while (inFlight.get() < maxInFlight) {
+				Pending pending;
+				synchronized (queueLock) {
+					pending = queue.pollFirst();
+				}
+				if (pending == null) return;
+				World world = pending.world;
+				long key = pending.key;
+				inFlight.incrementAndGet();
+				int chunkX = MortonCode.getX(key);
+				int chunkZ = MortonCode.getZ(key);
+				int started = generation;
+				Runnable load = () -> world.getChunkAtAsync(chunkX, chunkZ, false, false).whenComplete((Chunk chunk, Throwable ex) -> {
+					inFlight.decrementAndGet();
+					if (chunk == null || !chunk.isLoaded() || started != generation) return;
+					if (world.addPluginChunkTicket(chunkX, chunkZ, plugin)) {
+						WorldChunks chunks = chunks(WorldRegistry.id(world));
+						synchronized (chunks) {
+							chunks.ticketed.add(key);
+						}
+					}
+				});
+				if (folia) {
+					Bukkit.getRegionScheduler().execute(plugin, world, chunkX, chunkZ, load);
+				} else {
+					load.run();
+				}
+			}
+		} catch (Exception e) {
+			exceptionMsg("Exception in WarmSet: " + e.getMessage());
+			e.printStackTrace();
+		}
+	}
+
+	private void trim(WorldChunks chunks) {
+		if (chunks.ranked.size() <= size) return;
+		long[] hottest = sortedByHeat(chunks.ranked);
+		Long2LongOpenHashMap kept = new Long2LongOpenHashMap(size);
+		for (int i = 0; i < size; i++) {
+			kept.put(hottest[i], chunks.ranked.get(hottest[i]));
+		}
+		chunks.ranked = kept;
+	}
+
+	/**
+	 * @return the keys ordered by descending inhabited time
+	 */
+	private static long[] sortedByHeat(Long2LongOpenHashMap ranked) {
+		long[][] pairs = new long[ranked.size()][];
+		int i = 0;
+		for (Long2LongMap.Entry chunk : ranked.long2LongEntrySet()) {
+			pairs[i++] = new long[]{chunk.getLongKey(), chunk.getLongValue()};
+		}
+		Arrays.sort(pairs, (a, b) -> Long.compare(b[1], a[1]));
+		long[] keys = new long[pairs.length];
+		for (i = 0; i < pairs.length; i++) {
+			keys[i] = pairs[i][0];
+		}
+		return keys;
+	}
+
+	private WorldChunks chunks(String worldId) {
+		WorldChunks chunks = worlds.get(worldId);
+		if (chunks != null) return chunks;
+		return worlds.computeIfAbsent(worldId, this::load);
+	}
+
+	private WorldChunks load(String worldId) {
+		WorldChunks chunks = new WorldChunks();
+		File file = WorldRegistry.warmSetFile(plugin, worldId);
+		if (!file.isFile()) return chunks;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+			if (in.readInt() != MAGIC) throw new IOException("Not a warm set file: " + file.getName());
+			int count = in.readInt();
+			if (count < 0) throw new IOException("Corrupt warm set file: " + file.getName());
+			for (int i = 0; i < count; i++) {
+				chunks.ranked.put(in.readLong(), in.readLong());
+			}
+		} catch (IOException e) {
+			exceptionMsg("Failed to read warm set for " + worldId + ": " + e.getMessage());
+			chunks.ranked.clear();
+		}
+		return chunks;
+	}
+
+	/**
+	 * Writes a magic number, a count and (chunk key, inhabited ticks) pairs; the file is replaced atomically.
+	 */
+	private static void write(File file, long[] keys, long[] values) throws IOException {
+		File temp = new File(file.getPath() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp.toPath())))) {
+			out.writeInt(MAGIC);
+			out.writeInt(keys.length);
+			for (int i = 0; i < keys.length; i++) {
+				out.writeLong(keys[i]);
+				out.writeLong(values[i]);
+			}
+		}
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private record Pending(World world, long key) {
+	}
+
+	private static final class WorldChunks {
+		Long2LongOpenHashMap ranked = new Long2LongOpenHashMap();
+		final LongOpenHashSet ticketed = new LongOpenHashSet();
+		boolean dirty;
+	}
+}
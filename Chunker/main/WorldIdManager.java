@@ -3,15 +3,67 @@ package main;
 import org.bukkit.NamespacedKey;
 import org.bukkit.World;
 
+import java.util.Arrays;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Manages unique task IDs for dimensions based on their canonical world keys.
+ * IDs are dense, and loaded worlds are cached by identity so hot event paths can skip the key lookup.
  */
 public class WorldIdManager {
 	private static final AtomicInteger idCounter = new AtomicInteger();
 	private static final ConcurrentHashMap<NamespacedKey, Integer> worldIdMap = new ConcurrentHashMap<>();
+	private static final Object cacheLock = new Object();
+	private static volatile World[] loadedWorlds = new World[0];
+
+	/**
+	 * Returns the cached ID of a loaded world, falling back to the key lookup for worlds not cached yet.
+	 *
+	 * @param world the world for which to get the ID
+	 * @return the unique integer ID for the world
+	 */
+	public static int idOf(World world) {
+		World[] worlds = loadedWorlds;
+		for (int i = 0; i < worlds.length; i++) {
+			if (worlds[i] == world) return i;
+		}
+		return cache(world);
+	}
+
+	/**
+	 * Caches a loaded world under its ID.
+	 *
+	 * @return the unique integer ID for the world
+	 */
+	public static int cache(World world) {
+		int id = getWorldId(world);
+		synchronized (cacheLock) {
+			World[] worlds = loadedWorlds;
+			if (id < worlds.length && worlds[id] == world) return id;
+			World[] updated = Arrays.copyOf(worlds, Math.max(worlds.length, id + 1));
+			updated[id] = world;
+			loadedWorlds = updated;
+		}
+		return id;
+	}
+
+	/**
+	 * Drops an unloaded world from the cache; its ID stays reserved for the same key.
+	 */
+	public static void forget(World world) {
+		synchronized (cacheLock) {
+			World[] worlds = loadedWorlds;
+			for (int i = 0; i < worlds.length; i++) {
+				if (worlds[i] == world) {
+					World[] updated = worlds.clone();
+					updated[i] = null;
+					loadedWorlds = updated;
+					return;
+				}
+			}
+		}
+	}
 
 	/**
 	 * Retrieves a unique integer ID for the given world.
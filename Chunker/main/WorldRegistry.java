@@ -1,5 +1,6 @@
 package main;
 
+import net.kyori.adventure.util.TriState;
 import org.bukkit.Bukkit;
 import org.bukkit.NamespacedKey;
 import org.bukkit.World;
@@ -19,6 +20,13 @@ import java.util.Set;
 public final class WorldRegistry {
 	private static final String DIMENSIONS_DIR = "dimensions";
 	private static final String STATE_SUFFIX = "_pregenerator.txt";
+	private static final String FAILURE_LEDGER_SUFFIX = "_pregenerator.failed";
+	private static final String PENDING_LEDGER_SUFFIX = "_pregenerator.pending";
+	private static final String LANE_STATE_SUFFIX = "_pregenerator.lanes";
+	private static final String HEAT_ORDER_SUFFIX = "_pregenerator.heat";
+	private static final String HEATMAP_SUFFIX = "_exploration.heat";
+	private static final String DESTINATION_POOL_SUFFIX = "_destinations.pool";
+	private static final String WARM_SET_SUFFIX = "_warm.set";
 
 	private WorldRegistry() {
 	}
@@ -63,6 +71,23 @@ public final class WorldRegistry {
 		return world != null || !loadIfMissing ? world : WorldCreator.ofKey(key).createWorld();
 	}
 
+	/**
+	 * Loads a world without preparing its spawn chunks where the server supports it, so loading does not generate around spawn.
+	 */
+	public static World loadWithoutSpawn(String input) {
+		NamespacedKey key = parseKey(input);
+		if (key == null) return null;
+
+		World world = Bukkit.getWorld(key);
+		if (world != null) return world;
+		WorldCreator creator = WorldCreator.ofKey(key);
+		try {
+			creator.keepSpawnLoaded(TriState.FALSE);
+		} catch (NoSuchMethodError ignored) {
+		}
+		return creator.createWorld();
+	}
+
 	public static File stateFile(JavaPlugin plugin, World world) {
 		return stateFile(plugin, id(world));
 	}
@@ -82,7 +107,46 @@ public final class WorldRegistry {
 	public static List<File> stateFilesForInput(JavaPlugin plugin, String input) {
 		NamespacedKey key = parseKey(input);
 		if (key == null) return List.of();
-		return List.of(stateFile(plugin, keyString(key)));
+		String worldId = keyString(key);
+		return List.of(stateFile(plugin, worldId), pendingLedgerFile(plugin, worldId), laneStateFile(plugin, worldId), heatOrderFile(plugin, worldId));
+	}
+
+	public static File failureLedgerFile(JavaPlugin plugin, String worldId) {
+		return new File(plugin.getDataFolder(), safeFileBase(worldId) + FAILURE_LEDGER_SUFFIX);
+	}
+
+	public static File laneStateFile(JavaPlugin plugin, String worldId) {
+		return new File(plugin.getDataFolder(), safeFileBase(worldId) + LANE_STATE_SUFFIX);
+	}
+
+	public static File heatOrderFile(JavaPlugin plugin, String worldId) {
+		return new File(plugin.getDataFolder(), safeFileBase(worldId) + HEAT_ORDER_SUFFIX);
+	}
+
+	public static File heatmapFile(JavaPlugin plugin, String worldId) {
+		return new File(plugin.getDataFolder(), safeFileBase(worldId) + HEATMAP_SUFFIX);
+	}
+
+	public static File destinationPoolFile(JavaPlugin plugin, String worldId) {
+		return new File(plugin.getDataFolder(), safeFileBase(worldId) + DESTINATION_POOL_SUFFIX);
+	}
+
+	public static File warmSetFile(JavaPlugin plugin, String worldId) {
+		return new File(plugin.getDataFolder(), safeFileBase(worldId) + WARM_SET_SUFFIX);
+	}
+
+	public static File pendingLedgerFile(JavaPlugin plugin, String worldId) {
+		return new File(plugin.getDataFolder(), safeFileBase(worldId) + PENDING_LEDGER_SUFFIX);
+	}
+
+	public static List<String> failureLedgerIds(JavaPlugin plugin) {
+		LinkedHashSet<String> result = new LinkedHashSet<>();
+		for (String worldId : discoverWorldIds(plugin)) {
+			if (failureLedgerFile(plugin, worldId).isFile()) {
+				result.add(worldId);
+			}
+		}
+		return new ArrayList<>(result);
 	}
 
 	public static List<String> pregeneratorStateIds(JavaPlugin plugin) {